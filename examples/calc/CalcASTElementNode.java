@@ -0,0 +1,5 @@
+public class CalcASTElementNode extends CalcASTNode {
+  public CalcASTElementNode (String n, String v, boolean m) { super(n,v,m); }
+  public <X,Y> X accept(CalcVisitor<X,Y> visitor, Y data) { return visitor.visit(this, data); }
+
+} // end CalcASTElementNode
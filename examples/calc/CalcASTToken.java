@@ -0,0 +1,9 @@
+public class CalcASTToken extends CalcASTNode {
+  private CalcToken token; // the value is read from the token, only when asked for
+  public CalcASTToken (CalcToken t) { super(t.name,null,false); token=t; }
+  public CalcASTToken (String n, String v) { super(n,v,false); }
+  public CalcToken getToken() { return token; }
+  public String getValue() { return (token != null ? token.getValue() : super.getValue()); }
+  public <X,Y> X accept(CalcVisitor<X,Y> visitor, Y data) { return visitor.visit(this, data); }
+
+}
@@ -0,0 +1,318 @@
+import java.util.HashMap;
+import java.util.Stack;
+public class CalcParser {
+
+  private static final String startRuleName = "Expression";
+
+  private CalciTokenizer tokenizer;
+
+  private HashMap<String, HashMap<String, GrammarRule>> table = new HashMap<String, HashMap<String, GrammarRule>>();
+
+  public CalcParser (CalciTokenizer tokenizer) { this.tokenizer = tokenizer; buildTable(); }
+
+  public CalcASTExpressionNode parse() throws CalcParserException, CalcTokenizerException {
+    CalcToken curToken;
+
+    GrammarState curState;
+
+    Stack<GrammarState> stateStack = new Stack<GrammarState>();
+
+    CalcASTExpressionNode parseTree = null;
+    CalcASTNode curNode = null;
+
+    stateStack.push(new GrammarState(startRuleName, GrammarState.RULE));
+
+    curToken = tokenizer.nextToken();
+
+    while ( true ) {
+
+      curState = stateStack.pop();
+
+      if (curState == null) {
+
+        CalcASTNode nextNode = curNode.getParent();
+
+        if (curNode.isMultiChild() && curNode.numChildren() == 1) {
+          CalcASTNode parentNode = curNode.getParent();
+          parentNode.removeChild(curNode);
+
+          CalcASTNode childNode = curNode.getChild(0);
+          curNode.removeChild(childNode);
+          parentNode.addChild(childNode);
+        }
+        else if (curNode.numChildren() == 0) {
+          curNode.getParent().removeChild(curNode);
+        }
+
+        curNode = nextNode;
+
+      }
+      else if (curState.type == GrammarState.TOKEN) {
+
+        if (!curState.name.equals(curToken.name)) {
+          throw new CalcParserException("Invalid token \"" + curToken.getValue() + "\" (" + curToken.name + "), expected token (" + curState.name + ")"	, curToken.line, curToken.column);
+        }
+
+        if (curToken.name.equals("eof")) break;
+
+        curNode.addChild(new CalcASTToken(curToken));
+
+        curToken = tokenizer.nextToken();
+
+      }
+      else if (curState.type == GrammarState.RULE) {
+
+        GrammarRule newrule = table.get(curState.name).get(curToken.name);
+
+        if (newrule == null) {
+          String expected = "";
+          for (String t : table.get(curState.name).keySet()) if (t != null) expected += t + ", ";
+          throw new CalcParserException("Invalid token \"" + curToken.getValue() + "\" (" + curToken.name + ") for rule \"" + curState.name.replaceAll("\\{.*", "") + "\", expected one of (" + expected.substring(0, expected.length()-2) + ")", curToken.line, curToken.column);
+        }
+
+        if (!newrule.subrule) {
+          if (parseTree == null) {
+            curNode = parseTree = new CalcASTExpressionNode(newrule.name, null, newrule.multi_child);
+          } else {
+            CalcASTNode newnode = makenode(newrule.name, null, newrule.multi_child);
+            curNode.addChild(newnode);
+            curNode = newnode;
+          }
+
+          stateStack.push(null);
+        }
+
+        for (int i = newrule.graph.length-1; i >= 0; i--) {
+          stateStack.push(newrule.graph[i]);
+        }
+      }
+      else if (curState.type == GrammarState.EPSILON) {
+        continue; //do nothing
+      }
+
+    }
+
+    return parseTree;
+
+  }
+
+  private CalcASTNode makenode(String rulename, String value, boolean multi_child) {
+    if (rulename.equals("Element")) return new CalcASTElementNode(rulename, value, multi_child);
+    if (rulename.equals("Exp")) return new CalcASTExpNode(rulename, value, multi_child);
+    if (rulename.equals("Expression")) return new CalcASTExpressionNode(rulename, value, multi_child);
+    if (rulename.equals("Sum")) return new CalcASTSumNode(rulename, value, multi_child);
+    if (rulename.equals("Term")) return new CalcASTTermNode(rulename, value, multi_child);
+    throw new RuntimeException("Unknown rule name, cannot make node \"" + rulename + "\"");
+  }
+
+  private void buildTable() {
+    GrammarState[] graph;
+    table.put("Term{4}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term{5}", 2);
+      graph[1] = new GrammarState("Exp", 2);
+      table.get("Term{4}").put("divide", new GrammarRule("Term{4}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term{5}", 2);
+      graph[1] = new GrammarState("Exp", 2);
+      table.get("Term{4}").put("multiply", new GrammarRule("Term{4}", false, true, graph));
+
+    table.put("Element", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("number", 1);
+      table.get("Element").put("number", new GrammarRule("Element", false, false, graph));
+
+      graph = new GrammarState[3];
+      graph[0] = new GrammarState("lparen", 1);
+      graph[1] = new GrammarState("Sum", 2);
+      graph[2] = new GrammarState("rparen", 1);
+      table.get("Element").put("lparen", new GrammarRule("Element", false, false, graph));
+
+    table.put("Term{6}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Term{6}").put("null", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Term{6}").put("minus", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Term{6}").put("rparen", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term{4}", 2);
+      graph[1] = new GrammarState("Term{6}", 2);
+      table.get("Term{6}").put("divide", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term{4}", 2);
+      graph[1] = new GrammarState("Term{6}", 2);
+      table.get("Term{6}").put("multiply", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Term{6}").put("eof", new GrammarRule("Term{6}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Term{6}").put("plus", new GrammarRule("Term{6}", false, true, graph));
+
+    table.put("Term{5}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("divide", 1);
+      table.get("Term{5}").put("divide", new GrammarRule("Term{5}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("multiply", 1);
+      table.get("Term{5}").put("multiply", new GrammarRule("Term{5}", false, true, graph));
+
+    table.put("Exp{7}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("exp", 1);
+      graph[1] = new GrammarState("Element", 2);
+      table.get("Exp{7}").put("exp", new GrammarRule("Exp{7}", false, true, graph));
+
+    table.put("Sum", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term", 2);
+      graph[1] = new GrammarState("Sum{3}", 2);
+      table.get("Sum").put("number", new GrammarRule("Sum", true, false, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Term", 2);
+      graph[1] = new GrammarState("Sum{3}", 2);
+      table.get("Sum").put("lparen", new GrammarRule("Sum", true, false, graph));
+
+    table.put("Term", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Exp", 2);
+      graph[1] = new GrammarState("Term{6}", 2);
+      table.get("Term").put("number", new GrammarRule("Term", true, false, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Exp", 2);
+      graph[1] = new GrammarState("Term{6}", 2);
+      table.get("Term").put("lparen", new GrammarRule("Term", true, false, graph));
+
+    table.put("Exp{8}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("null", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("minus", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("rparen", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("divide", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Exp{7}", 2);
+      graph[1] = new GrammarState("Exp{8}", 2);
+      table.get("Exp{8}").put("exp", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("multiply", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("eof", new GrammarRule("Exp{8}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Exp{8}").put("plus", new GrammarRule("Exp{8}", false, true, graph));
+
+    table.put("Expression", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum", 2);
+      graph[1] = new GrammarState("eof", 1);
+      table.get("Expression").put("number", new GrammarRule("Expression", false, false, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum", 2);
+      graph[1] = new GrammarState("eof", 1);
+      table.get("Expression").put("lparen", new GrammarRule("Expression", false, false, graph));
+
+    table.put("Sum{1}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum{2}", 2);
+      graph[1] = new GrammarState("Term", 2);
+      table.get("Sum{1}").put("minus", new GrammarRule("Sum{1}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum{2}", 2);
+      graph[1] = new GrammarState("Term", 2);
+      table.get("Sum{1}").put("plus", new GrammarRule("Sum{1}", false, true, graph));
+
+    table.put("Exp", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Element", 2);
+      graph[1] = new GrammarState("Exp{8}", 2);
+      table.get("Exp").put("number", new GrammarRule("Exp", true, false, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Element", 2);
+      graph[1] = new GrammarState("Exp{8}", 2);
+      table.get("Exp").put("lparen", new GrammarRule("Exp", true, false, graph));
+
+    table.put("Sum{3}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Sum{3}").put("null", new GrammarRule("Sum{3}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum{1}", 2);
+      graph[1] = new GrammarState("Sum{3}", 2);
+      table.get("Sum{3}").put("minus", new GrammarRule("Sum{3}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Sum{3}").put("rparen", new GrammarRule("Sum{3}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("\0", 3);
+      table.get("Sum{3}").put("eof", new GrammarRule("Sum{3}", false, true, graph));
+
+      graph = new GrammarState[2];
+      graph[0] = new GrammarState("Sum{1}", 2);
+      graph[1] = new GrammarState("Sum{3}", 2);
+      table.get("Sum{3}").put("plus", new GrammarRule("Sum{3}", false, true, graph));
+
+    table.put("Sum{2}", new HashMap<String, GrammarRule>());
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("minus", 1);
+      table.get("Sum{2}").put("minus", new GrammarRule("Sum{2}", false, true, graph));
+
+      graph = new GrammarState[1];
+      graph[0] = new GrammarState("plus", 1);
+      table.get("Sum{2}").put("plus", new GrammarRule("Sum{2}", false, true, graph));
+
+  }
+
+  private class GrammarRule {
+    String name;
+    boolean multi_child, subrule;
+    GrammarState[] graph;
+
+    public GrammarRule(String n, boolean m, boolean s, GrammarState[] g) {
+      name = n; multi_child = m; subrule = s; graph = g;
+    }
+  } // end GrammarRule
+
+  private class GrammarState {
+    public static final int TOKEN = 1, RULE = 2, EPSILON = 3;
+    String name;
+    int type;
+    public GrammarState(String n, int t) { name = n; type = t; }
+  } // end GrammarState
+
+} // end CalcParser
@@ -0,0 +1,56 @@
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A token returned by the tokenizer
+ *
+ * Tokens from the tokenizer refer to their text in the tokenizer's input buffer,
+ * the value is only created when it is first asked for.
+ */
+public class CalcToken {
+  public int line = -1, column = -1, type = 0;
+  public long offset = -1; // offset of the token's first character in the input
+  public String name;
+  private String value;
+  private Object text; // where the value is until it is created, a char[], a byte[] of UTF-8 or a ByteBuffer of ISO-8859-1
+  private int textStart, textLength;
+  public CalcToken (int t, String n, Object text, int start, int length, int l, int c, long o) { type=t; name=n; this.text=text; textStart=start; textLength=length; line=l; column=c; offset=o; }
+  public CalcToken (int t, String n, String v, int l, int c, long o) { type=t; name=n; value=v; line=l; column=c; offset=o; }
+  public CalcToken (int t, String n, String v, int l, int c) { type=t; name=n; value=v; line=l; column=c; }
+  public CalcToken (int t, String n, String v, int l) { type=t; name=n; value=v; line=l; }
+  public CalcToken (int t, String n, String v) { type=t; name=n; value=v; }
+  public CalcToken (String n, String v, int l, int c) { name=n; value=v; line=l; column=c; }
+  public CalcToken (String n, String v, int l) { name=n; value=v; line=l; }
+  public CalcToken (String n, String v) { name=n; value=v; }
+  public CalcToken (String n) { name=n; }
+  public String getValue() {
+    if (value == null && text != null) {
+      if (text instanceof char[]) {
+        value = new String((char[])text, textStart, textLength);
+      } else if (text instanceof byte[]) {
+        value = new String((byte[])text, textStart, textLength, StandardCharsets.UTF_8);
+      } else {
+        byte[] bytes = new byte[textLength];
+        ByteBuffer buffer = ((ByteBuffer)text).duplicate();
+        buffer.position(textStart);
+        buffer.get(bytes);
+        value = new String(bytes, StandardCharsets.ISO_8859_1);
+      }
+      text = null;
+    }
+    return value;
+  }
+  // a view of the value, not copied from the tokenizer's buffer when it can be avoided
+  public CharSequence getText() { return (text instanceof char[] ? CharBuffer.wrap((char[])text, textStart, textLength).asReadOnlyBuffer() : getValue()); }
+  // whether the value is the given string, without creating the value when it can be avoided
+  public boolean hasValue(CharSequence str) {
+    if (!(text instanceof char[])) return str.toString().equals(getValue());
+    if (str.length() != textLength) return false;
+    char[] chars = (char[])text;
+    for (int i = 0; i < textLength; i++) if (chars[textStart + i] != str.charAt(i)) return false;
+    return true;
+  }
+  public String toString() { return (line != -1 ? "(" + line + ") " : "") + name + (getValue() != null ? " => " + getValue() : ""); }
+  public boolean is (String str) { return str.equals(name); }
+} // end CalcToken
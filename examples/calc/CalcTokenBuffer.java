@@ -0,0 +1,12 @@
+/**
+ * Tokens read in bulk by the tokenizer's fill(), held in parallel arrays rather than as Token objects
+ */
+public class CalcTokenBuffer {
+  public final int[] type; // token types, see the Tokenizer's constants
+  public final long[] start, end; // offsets of the first character of the tokens and of the one that follows them
+  public final int[] line, column;
+  public int size; // number of tokens held
+  public CalcTokenBuffer (int capacity) { type = new int[capacity]; start = new long[capacity]; end = new long[capacity]; line = new int[capacity]; column = new int[capacity]; }
+  public int capacity() { return type.length; }
+  public String toString(int i) { return "(" + line[i] + ") " + type[i] + " [" + start[i] + ", " + end[i] + ")"; }
+} // end CalcTokenBuffer
@@ -0,0 +1,296 @@
+import java.io.*;
+import java.util.Arrays;
+
+public class CalcTokenizer implements CalciTokenizer {
+
+  public static final int MULTIPLY_TOKEN = 1; // \*
+  public static final int NUMBER_TOKEN = 2; // :float: | :float: [eE] [-\+]? :integer:?
+  public static final int EXP_TOKEN = 3; // \^
+  public static final int MINUS_TOKEN = 4; // -
+  public static final int DIVIDE_TOKEN = 5; // /
+  public static final int BE_TOKEN = 6; // }
+  public static final int PLUS_TOKEN = 7; // \+
+  public static final int BB_TOKEN = 8; // {
+  public static final int LISTSEP_TOKEN = 9; // ,
+  public static final int EOL_TOKEN = 10; // ;
+  public static final int MOD_TOKEN = 11; // %
+  public static final int RPAREN_TOKEN = 12; // \)
+  public static final int LPAREN_TOKEN = 13; // \(
+  public static final int EOF_TOKEN = -1;
+
+  private static final int SKIP = 0;
+  private static final int NOT_ACCEPTING = -1;
+  private static final int NO_STATE = -1;
+
+  private static final int STATES = 26;
+  private static final int ALPHABET = 126;
+  private static final int CLASSES = 17;
+
+  private static final String[] tokenNames = { "skip", "multiply", "number", "exp", "minus", "divide", "be", "plus", "bb", "listsep", "eol", "mod", "rparen", "lparen" };
+
+  private static final int BUFFER_SIZE = 16384;
+
+  private Reader input;
+  private boolean eof; // input has been read to its end
+
+  private static final int[] accepting; // token type accepted by each state
+  private static final char[] charClasses; // equivalence class of each character, those outside of the alphabet are class 0
+  private static final int[] transitions; // next state, indexed by state * CLASSES + class
+
+  private static final String[] packedCharClasses = {
+    "\u0009\u0001\u0002\u0002\u0002\u0001\u0001\u0002\u0012\u0001\u0001\u0002\u0004\u0001\u0001\u0003\u0002\u0001\u0001\u0004\u0001\u0005\u0001\u0006\u0001\u0007\u0001\u0008\u0001\u0009\u0001\n\u0001\u000b\n\u000c\u0001\u0001\u0001\r\u0009\u0001\u0001\u000e\u0018\u0001\u0001\u000f\u0006\u0001\u0001\u000e\u0015\u0001\u0001\u0010\u0001\u0001\u0001\u0011",
+  };
+
+  private static final String[] packedTransitions = {
+    "\u0001\u0000\u0001\r\u0001\u000b\u0001\u000e\u0001\u000c\u0001\u0002\u0001\u0007\u0001\u0009\u0001\u0004\u0001\u000f\u0001\u0005\u0001\u0010\u0001\n\u0001\u0000\u0001\u0003\u0001\u0008\u0001\u0006\u00e8\u0000\u0001\u0019\u000e\u0000\u0001\u0012\u0001\u0000\u0001\u0011\u0001\u0000\u0001\u0013\u000c\u0000\u0001\u0018\u0001\u0000\u0001\u0010\u0001\u0000\u0001\u0013\u000e\u0000\u0001\u0016\u000b\u0000\u0001\u0014\u0001\u0000\u0001\u0014\u0002\u0000\u0001\u0015\u0010\u0000\u0001\u0015\u0010\u0000\u0001\u0015\u0010\u0000\u0001\u0017\u0001\u0000\u0001\u0013\u000e\u0000\u0001\u0016\u0001\u0000\u0001\u0013\u000e\u0000\u0001\u0017\u0010\u0000\u0001\u001a\u0001\u0000\u0001\u0013\u000e\u0000\u0001\u0019\u0001\u0000\u0001\u0013\u0003\u0000",
+  };
+
+  private static final String[] packedAccepting = {
+    "\u0001\u0000\u0001\u0002\u0001\u0004\u0001\u0005\u0001\u0006\u0001\u0007\u0001\u0008\u0001\u0009\u0001\n\u0001\u000b\u0001\u000c\u0001\r\u0001\u0001\u0001\u000e\u0001\u0000\u0002\u0003\u0001\u0000\u0005\u0003\u0001\u0000\u0002\u0003",
+  };
+
+  static {
+    accepting = unpack(packedAccepting, STATES);
+    transitions = unpack(packedTransitions, STATES * CLASSES);
+
+    int[] classes = unpack(packedCharClasses, ALPHABET);
+    charClasses = new char[ALPHABET];
+    for (int i = 0; i < ALPHABET; i++) charClasses[i] = (char)classes[i];
+  } // end static tables
+
+  private char[] buf = new char[BUFFER_SIZE]; // a block of input, from the current token onwards
+  private long bufOffset; // absolute offset of buf[0] in the input
+  private int tokenStart; // offset in buf of the token being scanned
+  private int pos; // offset in buf of the next character to scan
+  private int limit; // number of characters held in buf
+  private boolean shared; // returned tokens refer to the buffer, it can't be compacted in place
+
+  private int line = 1; // line number at the absolute offset lineCounted
+  private long lineStart; // absolute offset of the start of that line
+  private long lineCounted; // absolute offset up to which lines have been counted
+  private char lastCounted; // the last character counted, to join \r\n
+
+  private CalcToken[] tokenHistory = new CalcToken[32]; // the last tokens read, token n being at n & (length-1)
+  private long tokenCount; // number of tokens read from the input
+  private long tokenIndex; // number of the next token returned, behind tokenCount when tokens are pushed back
+  private int tokenHistorySize = 20; // number of tokens that can be pushed back
+  private int marks; // number of marks not yet rewound to or released
+  private long firstMark; // the oldest of those marks, all tokens from it are kept
+
+  public CalcTokenizer (Reader reader) {
+    input = reader;
+  } // end constructor
+
+  public int getLineNumber() { countLines(pos); return line; }
+
+  public void setTokenHistorySize(int size) {
+    tokenHistorySize = size;
+    while (tokenHistory.length < size) growHistory();
+  }
+  public int getTokenHistorySize() { return tokenHistorySize; }
+
+  public CalcToken nextToken() throws CalcTokenizerException {
+    if (tokenIndex < tokenCount) {
+      return tokenHistory[(int)(tokenIndex++) & (tokenHistory.length - 1)];
+    }
+    CalcToken token = _nextToken();
+    if (marks > 0 && tokenCount - firstMark == tokenHistory.length) growHistory();
+    tokenHistory[(int)(tokenCount++) & (tokenHistory.length - 1)] = token;
+    tokenIndex = tokenCount;
+    return token;
+  } // end nextToken
+
+  public void pushToken() throws CalcTokenizerException {
+    if (tokenIndex > 0 && tokenCount - tokenIndex < tokenHistorySize) {
+      tokenIndex--;
+    } else {
+      throw new CalcTokenizerException("Token push limit (" + tokenHistorySize + ") exceeded.");
+    }
+  } // end pushToken
+
+  // returns the position of the next token, tokens are kept from there on until the mark is rewound to or released
+  public long mark() {
+    if (marks++ == 0) firstMark = tokenIndex;
+    return tokenIndex;
+  } // end mark
+
+  // go back to the marked position, the next token will be the one that followed mark()
+  public void rewind(long mark) throws CalcTokenizerException {
+    if (mark > tokenCount || mark < tokenCount - tokenHistory.length || mark < 0) {
+      throw new CalcTokenizerException("Invalid mark " + mark + ", it has been released or was never returned by mark().");
+    }
+    tokenIndex = mark;
+    release(mark);
+  } // end rewind
+
+  // stop keeping tokens for the mark, without going back to it
+  public void release(long mark) {
+    if (marks > 0) marks--;
+  } // end release
+
+  private void growHistory() {
+    CalcToken[] grown = new CalcToken[tokenHistory.length * 2];
+    for (long n = Math.max(0, tokenCount - tokenHistory.length); n < tokenCount; n++) {
+      grown[(int)n & (grown.length - 1)] = tokenHistory[(int)n & (tokenHistory.length - 1)];
+    }
+    tokenHistory = grown;
+  } // end growHistory
+
+  private CalcToken _nextToken() throws CalcTokenizerException {
+    int curState;
+
+  tokenLoop:
+    while (true) {
+      tokenStart = pos;
+
+      curState = scan();
+
+      if (curState != NO_STATE && accepting[curState] == SKIP) continue tokenLoop;
+
+      // lines are only counted up to tokens that are reported
+      countLines(tokenStart);
+      int column = (int)(bufOffset + tokenStart - lineStart) + 1;
+
+      if (curState == NO_STATE) {
+        if (pos == tokenStart) {
+          return new CalcToken(EOF_TOKEN, "eof", "", line, column, bufOffset + tokenStart);
+        }
+        throw new CalcNoSuchTokenException(new String(buf, tokenStart, pos - tokenStart), line, column);
+      }
+
+      shared = true;
+      return new CalcToken(accepting[curState], tokenNames[accepting[curState]], buf, tokenStart, pos - tokenStart, line, column, bufOffset + tokenStart);
+    }
+  } // end _nextToken
+
+  public int fill(CalcTokenBuffer tokens) throws CalcTokenizerException {
+    if (tokenIndex < tokenCount) {
+      throw new CalcTokenizerException("Tokens pushed back have to be read with nextToken() first.");
+    }
+    int n = 0, capacity = tokens.capacity();
+    while (n < capacity) {
+      tokenStart = pos;
+      int curState = scan();
+
+      if (curState == NO_STATE) {
+        if (pos == tokenStart) break;
+        if (n > 0) {
+          pos = tokenStart;
+          break;
+        }
+        countLines(tokenStart);
+        throw new CalcNoSuchTokenException(new String(buf, tokenStart, pos - tokenStart), line, (int)(bufOffset + tokenStart - lineStart) + 1);
+      }
+
+      int type = accepting[curState];
+      if (type == SKIP) continue;
+
+      countLines(tokenStart);
+      tokens.type[n] = type;
+      tokens.start[n] = bufOffset + tokenStart;
+      tokens.end[n] = bufOffset + pos;
+      tokens.line[n] = line;
+      tokens.column[n] = (int)(bufOffset + tokenStart - lineStart) + 1;
+      n++;
+    }
+    tokens.size = n;
+    return n;
+  } // end fill
+
+  private int scan() throws CalcTokenizerException {
+    char[] b = buf;
+    int p = pos, lim = limit, start = tokenStart;
+    int state = 0, next, c;
+    int acceptState = NO_STATE, acceptLength = 0;
+
+    while (true) {
+      if (p == lim) {
+        pos = p;
+        boolean more = refill();
+        b = buf; p = pos; lim = limit; start = tokenStart; // the buffer may have been compacted, even at the end of input
+        if (!more) break;
+      }
+      c = b[p++];
+      next = transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];
+      if (next == NO_STATE) break;
+      state = next;
+      if (accepting[state] != NOT_ACCEPTING) {
+        acceptState = state;
+        acceptLength = p - start;
+      }
+    }
+
+    pos = (acceptState != NO_STATE ? start + acceptLength : p);
+    return acceptState;
+  } // end scan
+
+  static int step(int state, int c) {
+    return transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];
+  } // end step
+
+  static int accepts(int state) { return accepting[state]; }
+  static String tokenName(int type) { return tokenNames[type]; }
+
+  private void countLines(int to) {
+    for (int i = (int)(lineCounted - bufOffset); i < to; i++) {
+      char c = buf[i];
+      if (c == '\n' || c == '\r') {
+        if (c == '\r' || lastCounted != '\r') line++;
+        lineStart = bufOffset + i + 1;
+      }
+      lastCounted = c;
+    }
+    if (bufOffset + to > lineCounted) lineCounted = bufOffset + to;
+  } // end countLines
+
+  private boolean refill() throws CalcTokenizerException {
+    if (eof) return false;
+    if (limit == buf.length) {
+      if (tokenStart > 0) {
+        // characters before the current token are no longer needed, once their lines are counted
+        countLines(tokenStart);
+        char[] from = buf;
+        if (shared) {
+          // returned tokens still refer to the buffer, leave it to them
+          buf = new char[buf.length];
+          shared = false;
+        }
+        System.arraycopy(from, tokenStart, buf, 0, limit - tokenStart);
+        bufOffset += tokenStart;
+        pos -= tokenStart;
+        limit -= tokenStart;
+        tokenStart = 0;
+      } else {
+        // the token fills the whole buffer
+        buf = Arrays.copyOf(buf, buf.length * 2);
+        shared = false;
+      }
+    }
+    int n;
+    try {
+      n = input.read(buf, limit, buf.length - limit);
+    }
+    catch (IOException ex) {
+      throw new CalcTokenizerException(ex);
+    }
+    if (n <= 0) {
+      eof = true;
+      return false;
+    }
+    limit += n;
+    return true;
+  } // end refill
+
+  private static int[] unpack(String[] packed, int length) {
+    int[] values = new int[length];
+    int i = 0;
+    for (String chunk : packed) {
+      for (int j = 0; j < chunk.length(); j += 2) {
+        int value = chunk.charAt(j+1) - 1;
+        for (int n = chunk.charAt(j); n > 0; n--) values[i++] = value;
+      }
+    }
+    return values;
+  } // end unpack
+
+} // end CalcTokenizer
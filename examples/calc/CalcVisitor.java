@@ -0,0 +1,12 @@
+/**
+ * An interface to implement in order to traverse the resulting parse tree
+ */
+public interface CalcVisitor<X,Y> {
+  public X visit(CalcASTNode node, Y data);
+  public X visit(CalcASTElementNode node, Y data);
+  public X visit(CalcASTExpNode node, Y data);
+  public X visit(CalcASTExpressionNode node, Y data);
+  public X visit(CalcASTSumNode node, Y data);
+  public X visit(CalcASTTermNode node, Y data);
+  public X visit(CalcASTToken node, Y data);
+} // end CalcVisitor<X,Y>
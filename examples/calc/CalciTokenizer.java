@@ -0,0 +1,3 @@
+public interface CalciTokenizer{
+  public CalcToken nextToken() throws CalcTokenizerException;
+} // end CalciTokenizer
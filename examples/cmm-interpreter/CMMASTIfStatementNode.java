@@ -0,0 +1,5 @@
+public class CMMASTIfStatementNode extends CMMASTNode {
+  public CMMASTIfStatementNode (String n, String v, boolean m) { super(n,v,m); }
+  public <X,Y> X accept(CMMVisitor<X,Y> visitor, Y data) { return visitor.visit(this, data); }
+
+} // end CMMASTIfStatementNode
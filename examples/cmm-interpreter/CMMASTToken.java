@@ -0,0 +1,9 @@
+public class CMMASTToken extends CMMASTNode {
+  private CMMToken token; // the value is read from the token, only when asked for
+  public CMMASTToken (CMMToken t) { super(t.name,null,false); token=t; }
+  public CMMASTToken (String n, String v) { super(n,v,false); }
+  public CMMToken getToken() { return token; }
+  public String getValue() { return (token != null ? token.getValue() : super.getValue()); }
+  public <X,Y> X accept(CMMVisitor<X,Y> visitor, Y data) { return visitor.visit(this, data); }
+
+}
@@ -0,0 +1,40 @@
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * A tokenizer and a parser kept for each thread, reset for each input parsed
+ */
+public class CMMParserPool {
+  private static final ThreadLocal<CMMParserPool> pools = ThreadLocal.withInitial(CMMParserPool::new);
+
+  private CMMTokenizer tokenizer;
+  private CMMParser parser;
+  private boolean busy; // a parse is going on, one started from its handler gets instances of its own
+
+  private CMMParserPool () {}
+
+  // parse the input with this thread's tokenizer and parser, the parse tree is handed to the handler and
+  // is only valid until it returns: the values of its tokens that were not asked for are lost after that
+  public static <R> R parse(Reader reader, Function<? super CMMASTProgramNode, R> handler) throws CMMParserException, CMMTokenizerException {
+    CMMParserPool pool = pools.get();
+    if (pool.busy) {
+      return handler.apply(new CMMParser(new CMMTokenizer(reader)).parse());
+    }
+    pool.busy = true;
+    try {
+      if (pool.tokenizer == null) {
+        pool.tokenizer = new CMMTokenizer(reader);
+        pool.parser = new CMMParser(pool.tokenizer);
+      } else {
+        pool.tokenizer.reset(reader);
+        pool.parser.reset(pool.tokenizer);
+      }
+      return handler.apply(pool.parser.parse());
+    }
+    finally {
+      pool.tokenizer.discardTokens();
+      pool.tokenizer.reset(null); // let go of the reader
+      pool.busy = false;
+    }
+  } // end parse
+} // end CMMParserPool
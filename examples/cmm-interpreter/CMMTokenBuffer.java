@@ -0,0 +1,13 @@
+/**
+ * Tokens read in bulk by the tokenizer's fill(), held in parallel arrays rather than as Token objects
+ */
+public class CMMTokenBuffer {
+  public final int[] type; // token types, see the Tokenizer's constants
+  public final long[] start, end; // offsets of the first character of the tokens and of the one that follows them
+  public final int[] line, column;
+  public final int[] symbol; // symbol IDs of interned tokens, -1 for the others
+  public int size; // number of tokens held
+  public CMMTokenBuffer (int capacity) { type = new int[capacity]; start = new long[capacity]; end = new long[capacity]; line = new int[capacity]; column = new int[capacity]; symbol = new int[capacity]; }
+  public int capacity() { return type.length; }
+  public String toString(int i) { return "(" + line[i] + ") " + type[i] + " [" + start[i] + ", " + end[i] + ")"; }
+} // end CMMTokenBuffer
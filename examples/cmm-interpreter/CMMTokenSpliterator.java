@@ -0,0 +1,81 @@
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * The tokens of one tokenizer, or of a list of sources one after the other, up to the eof tokens (left out)
+ */
+public class CMMTokenSpliterator extends Spliterators.AbstractSpliterator<CMMToken> {
+  private final List<? extends Callable<? extends CMMiTokenizer>> sources; // opened in turn, those from index to end are left
+  private int index, end;
+  private CMMiTokenizer current; // the tokenizer being read, null between sources
+  private boolean opened; // current was opened from a source, and is closed at its end
+
+  public CMMTokenSpliterator (CMMiTokenizer tokenizer) { this(Collections.<Callable<CMMiTokenizer>>emptyList(), 0, 0); current = tokenizer; }
+  public CMMTokenSpliterator (List<? extends Callable<? extends CMMiTokenizer>> sources) { this(sources, 0, sources.size()); }
+
+  private CMMTokenSpliterator (List<? extends Callable<? extends CMMiTokenizer>> sources, int index, int end) {
+    super(Long.MAX_VALUE, ORDERED | NONNULL);
+    this.sources = sources;
+    this.index = index;
+    this.end = end;
+  }
+
+  public boolean tryAdvance(Consumer<? super CMMToken> action) {
+    while (true) {
+      if (current == null) {
+        if (index == end) return false;
+        try {
+          current = sources.get(index++).call();
+        }
+        catch (RuntimeException ex) {
+          throw ex;
+        }
+        catch (Exception ex) {
+          throw new CMMUncheckedTokenizerException(new CMMTokenizerException(ex));
+        }
+        opened = true;
+      }
+      CMMToken token;
+      try {
+        token = current.nextToken();
+      }
+      catch (CMMTokenizerException ex) {
+        throw new CMMUncheckedTokenizerException(ex);
+      }
+      if (!token.is("eof")) {
+        action.accept(token);
+        return true;
+      }
+      close();
+    }
+  } // end tryAdvance
+
+  // the first half of the sources left, the one being read among them, or else a batch of its tokens
+  public Spliterator<CMMToken> trySplit() {
+    int left = end - index + (current != null ? 1 : 0);
+    if (left < 2) return super.trySplit();
+    int middle = index + left / 2 - (current != null ? 1 : 0);
+    CMMTokenSpliterator prefix = new CMMTokenSpliterator(sources, index, middle);
+    prefix.current = current;
+    prefix.opened = opened;
+    current = null;
+    index = middle;
+    return prefix;
+  } // end trySplit
+
+  private void close() {
+    if (opened && current instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable)current).close();
+      }
+      catch (Exception ex) {
+        throw new CMMUncheckedTokenizerException(new CMMTokenizerException(ex));
+      }
+    }
+    current = null;
+  } // end close
+} // end CMMTokenSpliterator
@@ -0,0 +1,8 @@
+/**
+ * Wraps a CMMTokenizerException thrown while tokens are read through a stream
+ */
+public class CMMUncheckedTokenizerException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+  public CMMUncheckedTokenizerException (CMMTokenizerException cause) { super(cause); }
+  public CMMTokenizerException getCause() { return (CMMTokenizerException)super.getCause(); }
+} // end CMMUncheckedTokenizerException
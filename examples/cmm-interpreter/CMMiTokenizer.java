@@ -0,0 +1,10 @@
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface CMMiTokenizer{
+  public CMMToken nextToken() throws CMMTokenizerException;
+  // the tokens up to the eof token (left out), read as the stream goes, errors are thrown as CMMUncheckedTokenizerException
+  public default Stream<CMMToken> tokens() { return StreamSupport.stream(new CMMTokenSpliterator(this), false); }
+  public default IntStream tokenTypes() { return tokens().mapToInt(token -> token.type); }
+} // end CMMiTokenizer
@@ -8,6 +8,10 @@
 
 # Reserved token types are 'skip' and 'eof'.
 
+# Use name(base): for keywords, which the tokenizer matches as the base
+# token and then reclassifies (a keyword must match a finite set of
+# strings, all of them matched by its base token)
+
 # Specifying the same token name twice is equivalent to a | between the
 # two definition (see example of skip below)
 
@@ -47,16 +51,16 @@ ge: >=
 ne: != | <>
 gets: =
 
-# keywords
-do: do
-while: while
-if: if
-elsif: elsif
-else: else
-return: return
-number_t: number
-string_t: string
-boolean_t: boolean
+# keywords, matched as identifiers
+do(id): do
+while(id): while
+if(id): if
+elsif(id): elsif
+else(id): else
+return(id): return
+number_t(id): number
+string_t(id): string
+boolean_t(id): boolean
 
 # string constants
 string: "([^"]|\\")*"
@@ -66,8 +70,8 @@ string: "([^"]|\\")*"
 :float: :integer: (\.:integer:)? | \.:integer:
 number: -? :float: | :float: [eE] [-\+]? :integer:?
 
-# boolean constants
-boolean: true | false
+# boolean constants, also matched as identifiers
+boolean(id): true | false
 
 # identifiers
 :letter: [ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz_]
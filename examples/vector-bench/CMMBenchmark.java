@@ -0,0 +1,95 @@
+import java.io.CharArrayReader;
+
+
+public class CMMBenchmark {
+
+	/**
+	 * Runs over each input, the best one is kept
+	 */
+	public static final int RUNS = 30;
+
+	/**
+	 * Approximate size of each input, in characters
+	 */
+	public static final int SIZE = 4 << 20;
+
+	/**
+	 * Times the tokenizer on long string literals, long identifiers and a mix of both.
+	 * Run once as is and once with "--add-modules jdk.incubator.vector" to compare
+	 * the scalar and vector paths.
+	 */
+	public static void main(String[] args) throws CMMTokenizerException {
+
+		System.out.println(vectorSupported() ? "vector scanning" : "scalar scanning");
+
+		time("long string literals", generate(true, false));
+		time("long identifiers", generate(false, true));
+		time("long strings and identifiers", generate(true, true));
+	}
+
+	/**
+	 * Returns whether the tokenizer goes through the VectorScanner, as the tokenizer decides it
+	 */
+	private static boolean vectorSupported() {
+		try {
+			return CMMVectorScanner.isSupported();
+		}
+		catch (LinkageError ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Creates cmm statements assigning long literals and/or between long identifiers
+	 */
+	private static char[] generate(boolean strings, boolean identifiers) {
+		StringBuilder sb = new StringBuilder(SIZE + 1024);
+
+		for (int n = 0; sb.length() < SIZE; n++) {
+
+			if (identifiers) {
+				sb.append("variable_");
+				for (int i = 0; i < 200; i++) sb.append((char)('a' + (n + i) % 26));
+				sb.append(n);
+			} else {
+				sb.append('x');
+			}
+
+			sb.append(" = ");
+
+			if (strings) {
+				sb.append('"');
+				for (int i = 0; i < 500; i++) sb.append((char)(' ' + (n + i) % 2 * ('a' - ' ')));
+				sb.append('"');
+			} else {
+				sb.append(n);
+			}
+
+			sb.append(";\n");
+		}
+
+		return sb.toString().toCharArray();
+	}
+
+	/**
+	 * Tokenizes the input RUNS times from an in-memory reader and prints the best time
+	 */
+	private static void time(String name, char[] text) throws CMMTokenizerException {
+		long best = Long.MAX_VALUE;
+		int tokens = 0;
+
+		for (int r = 0; r < RUNS; r++) {
+			long start = System.nanoTime();
+
+			CMMTokenizer t = new CMMTokenizer(new CharArrayReader(text));
+
+			tokens = 0;
+			while (t.nextToken().type != CMMTokenizer.EOF_TOKEN) tokens++;
+
+			best = Math.min(best, System.nanoTime() - start);
+		}
+
+		System.out.printf("%-30s %9d chars %8d tokens  best %7.1f ms%n", name, text.length, tokens, best / 1e6);
+	}
+
+}
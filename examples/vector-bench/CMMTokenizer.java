@@ -0,0 +1,442 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class CMMTokenizer implements CMMiTokenizer, Closeable {
+
+  public static final int ELSIF_TOKEN = 1; // elsif
+  public static final int NE_TOKEN = 2; // != | <>
+  public static final int PLUS_TOKEN = 3; // \+
+  public static final int MOD_TOKEN = 4; // %
+  public static final int MINUS_TOKEN = 5; // -
+  public static final int GT_TOKEN = 6; // >
+  public static final int LISTSEP_TOKEN = 7; // ,
+  public static final int DO_TOKEN = 8; // do
+  public static final int STRING_TOKEN = 9; // "([^"]|\\")*"
+  public static final int GE_TOKEN = 10; // >=
+  public static final int ELSE_TOKEN = 11; // else
+  public static final int STRING_T_TOKEN = 12; // string
+  public static final int NUMBER_T_TOKEN = 13; // number
+  public static final int MULTIPLY_TOKEN = 14; // \*
+  public static final int DIVIDE_TOKEN = 15; // /
+  public static final int GETS_TOKEN = 16; // =
+  public static final int LT_TOKEN = 17; // <
+  public static final int LPAREN_TOKEN = 18; // \(
+  public static final int WHILE_TOKEN = 19; // while
+  public static final int IF_TOKEN = 20; // if
+  public static final int BOOLEAN_T_TOKEN = 21; // boolean
+  public static final int ID_TOKEN = 22; // :letter: (:digit:|:letter:)*
+  public static final int RPAREN_TOKEN = 23; // \)
+  public static final int LE_TOKEN = 24; // <=
+  public static final int EQ_TOKEN = 25; // ==
+  public static final int RETURN_TOKEN = 26; // return
+  public static final int EOL_TOKEN = 27; // ;
+  public static final int BE_TOKEN = 28; // }
+  public static final int EXP_TOKEN = 29; // \^
+  public static final int BB_TOKEN = 30; // {
+  public static final int NUMBER_TOKEN = 31; // -? :float: | :float: [eE] [-\+]? :integer:?
+  public static final int BOOLEAN_TOKEN = 32; // true | false
+  public static final int EOF_TOKEN = -1;
+
+  private static final int SKIP = 0;
+  private static final int NOT_ACCEPTING = -1;
+  private static final int NO_STATE = -1;
+
+  private static final int STATES = 34;
+  private static final int ALPHABET = 126;
+  private static final int CLASSES = 24;
+
+  private static final String[] tokenNames = { "skip", "elsif", "ne", "plus", "mod", "minus", "gt", "listsep", "do", "string", "ge", "else", "string_t", "number_t", "multiply", "divide", "gets", "lt", "lparen", "while", "if", "boolean_t", "id", "rparen", "le", "eq", "return", "eol", "be", "exp", "bb", "number", "boolean" };
+
+  // keywords, reclassified from their base token through a perfect hash of the value
+  static final int KEYWORD_SEED = -91423699;
+  static final int KEYWORD_SHIFT = 28;
+  static final int KEYWORD_MIN = 2, KEYWORD_MAX = 7; // lengths of the keywords
+  static final String[] keywords = { "false", null, "true", "boolean", "else", "do", "if", "return", null, null, "while", null, null, "number", "elsif", "string" };
+  static final int[] keywordTypes = { 32, 0, 32, 21, 11, 8, 20, 26, 0, 0, 19, 0, 0, 13, 1, 12 };
+  static final int[] keywordBases = { 22, 0, 22, 22, 22, 22, 22, 22, 0, 0, 22, 0, 0, 22, 22, 22 };
+
+  private static final int BUFFER_SIZE = 16384;
+
+  private static final boolean VECTOR = vectorSupported();
+  private static final int VECTOR_MIN = 16; // characters looped on before going on in vectors
+
+  private Reader input;
+  private boolean eof; // input has been read to its end
+
+  private static final int[] accepting; // token type accepted by each state
+  private static final char[] charClasses; // equivalence class of each character, those outside of the alphabet are class 0
+  private static final int[] transitions; // next state, indexed by state * CLASSES + class
+
+  private static final String[] packedCharClasses = {
+    "\u0009\u0001\u0002\u0002\u0002\u0001\u0001\u0002\u0012\u0001\u0001\u0002\u0001\u0003\u0001\u0004\u0002\u0001\u0001\u0005\u0002\u0001\u0001\u0006\u0001\u0007\u0001\u0008\u0001\u0009\u0001\n\u0001\u000b\u0001\u000c\u0001\r\n\u000e\u0001\u0001\u0001\u000f\u0001\u0010\u0001\u0011\u0001\u0012\u0002\u0001\u0004\u0013\u0001\u0014\u0015\u0013\u0001\u0001\u0001\u0015\u0001\u0001\u0001\u0016\u0001\u0013\u0001\u0001\u0004\u0013\u0001\u0014\u0015\u0013\u0001\u0017\u0001\u0001\u0001\u0018",
+  };
+
+  private static final String[] packedTransitions = {
+    "\u0001\u0000\u0001\u0002\u0001\u0003\u0001\u0004\u0001\u0005\u0001\u0006\u0001\u0007\u0001\u0008\u0001\u0009\u0001\n\u0001\u000b\u0001\u000c\u0001\r\u0001\u000e\u0001\u000f\u0001\u0010\u0001\u0011\u0001\u0012\u0002\u0013\u0001\u0000\u0001\u0014\u0001\u0015\u0001\u0016(\u0000\u0001\u001a\u0007\u0000\u0003\u0004\u0001 \u0010\u0004\u0001!\u0003\u0004\u009b\u0000\u0001\u001e\u0001\u0000\u0001\u001f\u0017\u0000\u0001\u001d-\u0000\u0001\u000c\u0001\u0000\u0001\u000e\u0005\u0000\u0001\u001b,\u0000\u0001\u0019\u0001\u001a\u0016\u0000\u0001\u0018\u0017\u0000\u0001\u0017\u0014\u0000\u0001\u0013\u0004\u0000\u0002\u0013\u00b4\u0000\u0001\u001c\u0001\u0000\u0001\u001c\u0002\u0000\u0001\u001c\u0017\u0000\u0001\u001c\u0017\u0000\u0001\u001d\u0005\u0000\u0001\u001b\u0011\u0000\u0001\u001c\u0015\u0000\u0001\u001e\u0001\u0000\u0001\u001f\"\u0000\u0003\u0004\u0001\"\u0010\u0004\u0001!\u0006\u0004\u0001 \u0010\u0004\u0001!\u0003\u0004",
+  };
+
+  private static final String[] packedAccepting = {
+    "\u0001\u0000\u0001\u0001\u0002\u0000\u0001\u0005\u0001\u0013\u0001\u0018\u0001\u000f\u0001\u0004\u0001\u0008\u0001\u0006\u0001\u0000\u0001\u0010\u0001 \u0001\u001c\u0001\u0012\u0001\u0011\u0001\u0007\u0001\u0017\u0001\u001e\u0001\u001f\u0001\u001d\u0001\u000b\u0001\u001a\u0001\u0019\u0001\u0003\u0003 \u0001\u0000\u0001 \u0001\n\u0001\u0000\u0001\n",
+  };
+
+  // states looping back to themselves on most characters, and those characters (by character, ALPHABET
+  // standing for all the characters outside of the alphabet), they are scanned in a tight loop
+  private static final int[] loopStates = { 3, 13, 18, 27, 28, 30 };
+  private static final boolean[][] loops = new boolean[STATES][];
+
+  static {
+    accepting = unpack(packedAccepting, STATES);
+    transitions = unpack(packedTransitions, STATES * CLASSES);
+
+    int[] classes = unpack(packedCharClasses, ALPHABET);
+    charClasses = new char[ALPHABET];
+    for (int i = 0; i < ALPHABET; i++) charClasses[i] = (char)classes[i];
+
+    for (int s : loopStates) {
+      loops[s] = new boolean[ALPHABET + 1];
+      for (int c = 0; c <= ALPHABET; c++) loops[s][c] = (step(s, c) == s);
+    }
+  } // end static tables
+
+  private char[] buf = new char[BUFFER_SIZE]; // a block of input, from the current token onwards
+  private long bufOffset; // absolute offset of buf[0] in the input
+  private int tokenStart; // offset in buf of the token being scanned
+  private int pos; // offset in buf of the next character to scan
+  private int limit; // number of characters held in buf
+  private boolean shared; // returned tokens refer to the buffer, it can't be compacted in place
+
+  private int line = 1; // line number at the absolute offset lineCounted
+  private long lineStart; // absolute offset of the start of that line
+  private long lineCounted; // absolute offset up to which lines have been counted
+  private char lastCounted; // the last character counted, to join \r\n
+
+  private CMMToken[] tokenHistory = new CMMToken[32]; // the last tokens read, token n being at n & (length-1)
+  private long tokenCount; // number of tokens read from the input
+  private long tokenIndex; // number of the next token returned, behind tokenCount when tokens are pushed back
+  private int tokenHistorySize = 20; // number of tokens that can be pushed back
+  private int marks; // number of marks not yet rewound to or released
+  private long firstMark; // the oldest of those marks, all tokens from it are kept
+
+  public CMMTokenizer (Reader reader) {
+    input = reader;
+  } // end constructor
+
+  // start over on a new input, reusing the buffers, tokens read before keep their values
+  public void reset(Reader reader) {
+    input = reader;
+    eof = false;
+    if (shared) {
+      // tokens read before still refer to the buffer, leave it to them
+      buf = new char[BUFFER_SIZE];
+      shared = false;
+    }
+    bufOffset = tokenStart = pos = limit = 0;
+    line = 1;
+    lineStart = lineCounted = 0;
+    lastCounted = 0;
+    Arrays.fill(tokenHistory, null);
+    tokenCount = tokenIndex = firstMark = marks = 0;
+  } // end reset
+
+  // the tokens read so far won't be used anymore, the buffer can be reused by reset() even if they refer to it
+  void discardTokens() { shared = false; }
+
+  public void close() throws IOException { input.close(); }
+
+  // the tokens of the files one after the other (read as UTF-8), a parallel stream hands out separate files to its workers
+  public static Stream<CMMToken> tokens(List<Path> files) {
+    List<Callable<CMMTokenizer>> sources = new ArrayList<Callable<CMMTokenizer>>();
+    for (Path file : files) {
+      sources.add(() -> new CMMTokenizer(Files.newBufferedReader(file)));
+    }
+    return StreamSupport.stream(new CMMTokenSpliterator(sources), false);
+  }
+
+  public int getLineNumber() { countLines(pos); return line; }
+
+  public void setTokenHistorySize(int size) {
+    tokenHistorySize = size;
+    while (tokenHistory.length < size) growHistory();
+  }
+  public int getTokenHistorySize() { return tokenHistorySize; }
+
+  public CMMToken nextToken() throws CMMTokenizerException {
+    if (tokenIndex < tokenCount) {
+      return tokenHistory[(int)(tokenIndex++) & (tokenHistory.length - 1)];
+    }
+    CMMToken token = _nextToken();
+    if (marks > 0 && tokenCount - firstMark == tokenHistory.length) growHistory();
+    tokenHistory[(int)(tokenCount++) & (tokenHistory.length - 1)] = token;
+    tokenIndex = tokenCount;
+    return token;
+  } // end nextToken
+
+  public void pushToken() throws CMMTokenizerException {
+    if (tokenIndex > 0 && tokenCount - tokenIndex < tokenHistorySize) {
+      tokenIndex--;
+    } else {
+      throw new CMMTokenizerException("Token push limit (" + tokenHistorySize + ") exceeded.");
+    }
+  } // end pushToken
+
+  // returns the position of the next token, tokens are kept from there on until the mark is rewound to or released
+  public long mark() {
+    if (marks++ == 0) firstMark = tokenIndex;
+    return tokenIndex;
+  } // end mark
+
+  // go back to the marked position, the next token will be the one that followed mark()
+  public void rewind(long mark) throws CMMTokenizerException {
+    if (mark > tokenCount || mark < tokenCount - tokenHistory.length || mark < 0) {
+      throw new CMMTokenizerException("Invalid mark " + mark + ", it has been released or was never returned by mark().");
+    }
+    tokenIndex = mark;
+    release(mark);
+  } // end rewind
+
+  // stop keeping tokens for the mark, without going back to it
+  public void release(long mark) {
+    if (marks > 0) marks--;
+  } // end release
+
+  private void growHistory() {
+    CMMToken[] grown = new CMMToken[tokenHistory.length * 2];
+    for (long n = Math.max(0, tokenCount - tokenHistory.length); n < tokenCount; n++) {
+      grown[(int)n & (grown.length - 1)] = tokenHistory[(int)n & (tokenHistory.length - 1)];
+    }
+    tokenHistory = grown;
+  } // end growHistory
+
+  private CMMToken _nextToken() throws CMMTokenizerException {
+    int curState;
+
+  tokenLoop:
+    while (true) {
+      tokenStart = pos;
+
+      curState = scan();
+
+      if (curState != NO_STATE && accepting[curState] == SKIP) continue tokenLoop;
+
+      // lines are only counted up to tokens that are reported
+      countLines(tokenStart);
+      int column = (int)(bufOffset + tokenStart - lineStart) + 1;
+
+      if (curState == NO_STATE) {
+        if (pos == tokenStart) {
+          return new CMMToken(EOF_TOKEN, "eof", "", line, column, bufOffset + tokenStart);
+        }
+        throw new CMMNoSuchTokenException(new String(buf, tokenStart, pos - tokenStart), line, column);
+      }
+
+      int type = accepting[curState];
+      if (type == ID_TOKEN) type = keyword(type, buf, tokenStart, pos - tokenStart);
+      shared = true;
+      return new CMMToken(type, tokenNames[type], buf, tokenStart, pos - tokenStart, line, column, bufOffset + tokenStart);
+    }
+  } // end _nextToken
+
+  public int fill(CMMTokenBuffer tokens) throws CMMTokenizerException {
+    if (tokenIndex < tokenCount) {
+      throw new CMMTokenizerException("Tokens pushed back have to be read with nextToken() first.");
+    }
+    int n = 0, capacity = tokens.capacity();
+    while (n < capacity) {
+      tokenStart = pos;
+      int curState = scan();
+
+      if (curState == NO_STATE) {
+        if (pos == tokenStart) break;
+        if (n > 0) {
+          pos = tokenStart;
+          break;
+        }
+        countLines(tokenStart);
+        throw new CMMNoSuchTokenException(new String(buf, tokenStart, pos - tokenStart), line, (int)(bufOffset + tokenStart - lineStart) + 1);
+      }
+
+      int type = accepting[curState];
+      if (type == SKIP) continue;
+      if (type == ID_TOKEN) type = keyword(type, buf, tokenStart, pos - tokenStart);
+
+      countLines(tokenStart);
+      tokens.type[n] = type;
+      tokens.start[n] = bufOffset + tokenStart;
+      tokens.end[n] = bufOffset + pos;
+      tokens.line[n] = line;
+      tokens.column[n] = (int)(bufOffset + tokenStart - lineStart) + 1;
+      tokens.symbol[n] = -1;
+      n++;
+    }
+    tokens.size = n;
+    return n;
+  } // end fill
+
+  // the types of the tokens up to eof, read in bulk through fill() without creating Token objects
+  public IntStream tokenTypes() {
+    return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, Spliterator.ORDERED) {
+      private final CMMTokenBuffer tokens = new CMMTokenBuffer(1024);
+      private int next;
+      public boolean tryAdvance(IntConsumer action) {
+        if (next == tokens.size) {
+          try {
+            if (fill(tokens) == 0) return false;
+          }
+          catch (CMMTokenizerException ex) {
+            throw new CMMUncheckedTokenizerException(ex);
+          }
+          next = 0;
+        }
+        action.accept(tokens.type[next++]);
+        return true;
+      }
+    }, false);
+  } // end tokenTypes
+
+  private int scan() throws CMMTokenizerException {
+    char[] b = buf;
+    int p = pos, lim = limit, start = tokenStart;
+    int state = 0, next, c;
+    int acceptState = NO_STATE, acceptLength = 0;
+
+    while (true) {
+      if (p == lim) {
+        pos = p;
+        boolean more = refill();
+        b = buf; p = pos; lim = limit; start = tokenStart; // the buffer may have been compacted, even at the end of input
+        if (!more) break;
+      }
+      c = b[p++];
+      next = transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];
+      if (next == NO_STATE) break;
+      state = next;
+      if (accepting[state] != NOT_ACCEPTING) {
+        acceptState = state;
+        acceptLength = p - start;
+      }
+      if (loops[state] != null) {
+        // run through the characters the state loops on, without going through the tables
+        boolean[] loop = loops[state];
+        for (int scalar = Math.min(lim, p + VECTOR_MIN); p < lim && loop[b[p] < ALPHABET ? b[p] : ALPHABET]; ) {
+          if (++p == scalar && VECTOR) p = CMMVectorScanner.run(state, b, p, lim);
+        }
+        if (acceptState == state) acceptLength = p - start;
+      }
+    }
+
+    pos = (acceptState != NO_STATE ? start + acceptLength : p);
+    return acceptState;
+  } // end scan
+
+  static int step(int state, int c) {
+    return transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];
+  } // end step
+
+  private static int keyword(int type, char[] text, int start, int length) {
+    if (length < KEYWORD_MIN || length > KEYWORD_MAX) return type;
+    int h = KEYWORD_SEED;
+    for (int i = start; i < start + length; i++) h = (h ^ text[i]) * 16777619;
+    int slot = h >>> KEYWORD_SHIFT;
+    String keyword = keywords[slot];
+    if (keyword == null || keywordBases[slot] != type || keyword.length() != length) return type;
+    for (int i = 0; i < length; i++) {
+      if (keyword.charAt(i) != text[start + i]) return type;
+    }
+    return keywordTypes[slot];
+  } // end keyword
+
+  // the VectorScanner needs the jdk.incubator.vector module, and is only worth it with wide enough vectors
+  private static boolean vectorSupported() {
+    try {
+      return CMMVectorScanner.isSupported();
+    }
+    catch (LinkageError ex) {
+      return false;
+    }
+  } // end vectorSupported
+
+  static int accepts(int state) { return accepting[state]; }
+  static String tokenName(int type) { return tokenNames[type]; }
+
+  private void countLines(int to) {
+    for (int i = (int)(lineCounted - bufOffset); i < to; i++) {
+      if (VECTOR && to - i >= VECTOR_MIN) {
+        // run up to the next line break in vectors
+        int next = CMMVectorScanner.lineBreak(buf, i, to);
+        if (next > i) {
+          lastCounted = buf[next - 1];
+          if ((i = next) == to) break;
+        }
+      }
+      char c = buf[i];
+      if (c == '\n' || c == '\r') {
+        if (c == '\r' || lastCounted != '\r') line++;
+        lineStart = bufOffset + i + 1;
+      }
+      lastCounted = c;
+    }
+    if (bufOffset + to > lineCounted) lineCounted = bufOffset + to;
+  } // end countLines
+
+  private boolean refill() throws CMMTokenizerException {
+    if (eof) return false;
+    if (limit == buf.length) {
+      if (tokenStart > 0) {
+        // characters before the current token are no longer needed, once their lines are counted
+        countLines(tokenStart);
+        char[] from = buf;
+        if (shared) {
+          // returned tokens still refer to the buffer, leave it to them
+          buf = new char[buf.length];
+          shared = false;
+        }
+        System.arraycopy(from, tokenStart, buf, 0, limit - tokenStart);
+        bufOffset += tokenStart;
+        pos -= tokenStart;
+        limit -= tokenStart;
+        tokenStart = 0;
+      } else {
+        // the token fills the whole buffer
+        buf = Arrays.copyOf(buf, buf.length * 2);
+        shared = false;
+      }
+    }
+    int n;
+    try {
+      n = input.read(buf, limit, buf.length - limit);
+    }
+    catch (IOException ex) {
+      throw new CMMTokenizerException(ex);
+    }
+    if (n <= 0) {
+      eof = true;
+      return false;
+    }
+    limit += n;
+    return true;
+  } // end refill
+
+  private static int[] unpack(String[] packed, int length) {
+    int[] values = new int[length];
+    int i = 0;
+    for (String chunk : packed) {
+      for (int j = 0; j < chunk.length(); j += 2) {
+        int value = chunk.charAt(j+1) - 1;
+        for (int n = chunk.charAt(j); n > 0; n--) values[i++] = value;
+      }
+    }
+    return values;
+  } // end unpack
+
+} // end CMMTokenizer
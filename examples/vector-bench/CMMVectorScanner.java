@@ -0,0 +1,89 @@
+import jdk.incubator.vector.*;
+
+class CMMVectorScanner {
+
+  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+  private static final int LANES = SPECIES.length();
+
+  // only worth it with at least 8 characters at a time
+  static boolean isSupported() { return LANES >= 8; }
+
+  // returns the offset of the first character from p the state doesn't loop on, or where fewer
+  // than LANES characters are left before lim (the rest is left to the scalar loop)
+  static int run(int state, char[] b, int p, int lim) {
+    switch (state) {
+      case 3: return run3(b, p, lim);
+      case 13: return run13(b, p, lim);
+      case 18: return run18(b, p, lim);
+      case 27: return run27(b, p, lim);
+      case 28: return run28(b, p, lim);
+      case 30: return run30(b, p, lim);
+      default: return p;
+    }
+  } // end run
+
+  // returns the offset of the first line break from p, or where fewer than LANES characters are left before lim
+  static int lineBreak(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> breaks = v.compare(VectorOperators.EQ, (short)'\n').or(v.compare(VectorOperators.EQ, (short)'\r'));
+      if (breaks.anyTrue()) return p + breaks.firstTrue();
+    }
+    return p;
+  } // end lineBreak
+
+  static int run3(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)0).compare(VectorOperators.UNSIGNED_LT, (short)34).or(v.sub((short)35).compare(VectorOperators.UNSIGNED_LT, (short)57)).or(v.sub((short)93).compare(VectorOperators.UNSIGNED_LT, (short)65443));
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run3
+
+  static int run13(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)48).compare(VectorOperators.UNSIGNED_LT, (short)10);
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run13
+
+  static int run18(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)48).compare(VectorOperators.UNSIGNED_LT, (short)10).or(v.sub((short)65).compare(VectorOperators.UNSIGNED_LT, (short)26)).or(v.sub((short)95).compare(VectorOperators.UNSIGNED_LT, (short)1)).or(v.sub((short)97).compare(VectorOperators.UNSIGNED_LT, (short)26));
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run18
+
+  static int run27(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)48).compare(VectorOperators.UNSIGNED_LT, (short)10);
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run27
+
+  static int run28(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)48).compare(VectorOperators.UNSIGNED_LT, (short)10);
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run28
+
+  static int run30(char[] b, int p, int lim) {
+    for (; p + LANES <= lim; p += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);
+      VectorMask<Short> in = v.sub((short)48).compare(VectorOperators.UNSIGNED_LT, (short)10);
+      if (!in.allTrue()) return p + in.not().firstTrue();
+    }
+    return p;
+  } // end run30
+
+} // end CMMVectorScanner
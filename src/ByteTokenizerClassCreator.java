@@ -0,0 +1,312 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+
+/**
+ * Output the ByteTokenizer class, a companion of the Tokenizer that reads UTF-8 bytes
+ * (from a byte array, a ByteBuffer or an InputStream) instead of characters from a Reader.
+ *
+ * Its DFA runs over bytes (see TokenizerByteTables), so the input is never decoded, only the
+ * values of the tokens are. Token types and names are the Tokenizer's.
+ *
+ * Line numbers and columns are counted in characters, as the Tokenizer counts them, while
+ * token offsets are byte offsets in the input.
+ */
+public class ByteTokenizerClassCreator {
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public ByteTokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the byte tokenizer class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "ByteTokenizer";
+		String tokenizername = prefix + "Tokenizer";
+		String interfacename = prefix + "iTokenizer";
+		String tokclass = prefix + "Token";
+		
+		TokenizerTables charTables = new TokenizerTables(tokendef);
+		TokenizerByteTables tables = new TokenizerByteTables(charTables);
+		TokenizerKeywords keywords = new TokenizerKeywords(charTables);
+		
+		// keywords are found with the Tokenizer's tables, keywords being ASCII their bytes are their characters
+		String keyword = (keywords.isEmpty() ? null : "if (" + TokenizerClassCreator.keywordCondition(keywords, tokenizername + ".") + ") type = keyword(type, buf, tokenStart, pos - tokenStart);");
+		
+		out.println("import java.io.*;");
+		out.println("import java.nio.ByteBuffer;");
+		out.println("import java.nio.charset.StandardCharsets;");
+		out.println("import java.util.Arrays;");
+		out.println("import java.util.Spliterator;");
+		out.println("import java.util.Spliterators;");
+		out.println("import java.util.function.IntConsumer;");
+		out.println("import java.util.stream.IntStream;");
+		out.println("import java.util.stream.StreamSupport;");
+		out.println();
+		
+		out.println("public class " + classname + " implements " + interfacename + " {");
+		out.println();
+		
+		out.println("  private static final int SKIP = " + TokenizerTables.SKIP + ";");
+		out.println("  private static final int NOT_ACCEPTING = " + TokenizerTables.NOT_ACCEPTING + ";");
+		out.println("  private static final int NO_STATE = " + TokenizerTables.NO_STATE + ";");
+		out.println();
+		
+		out.println("  private static final int STATES = " + tables.getNumStates() + ";");
+		out.println("  private static final int CLASSES = " + tables.getNumClasses() + ";");
+		out.println();
+		
+		out.println("  private static final int BUFFER_SIZE = 16384;");
+		out.println();
+		
+		outputTables(out, tables);
+		
+		out.println("  private InputStream input; // where bytes are read from, or");
+		out.println("  private ByteBuffer source; // where bytes are copied from");
+		out.println("  private boolean eof; // input has been read to its end");
+		out.println();
+		
+		out.println("  private byte[] buf; // a block of input, from the current token onwards");
+		out.println("  private long bufOffset; // absolute offset of buf[0] in the input");
+		out.println("  private int tokenStart; // offset in buf of the token being scanned");
+		out.println("  private int pos; // offset in buf of the next byte to scan");
+		out.println("  private int limit; // offset in buf of the end of the input it holds");
+		out.println("  private boolean shared; // returned tokens refer to the buffer, it can't be compacted in place");
+		out.println();
+		
+		out.println("  private int line = 1; // line number at the absolute offset lineCounted");
+		out.println("  private long lineStart; // absolute offset of the start of that line");
+		out.println("  private int lineChars; // characters from lineStart to lineCounted");
+		out.println("  private long lineCounted; // absolute offset up to which lines have been counted");
+		out.println("  private int lastCounted; // the last byte counted, to join \\r\\n");
+		out.println();
+		
+		TokenizerClassCreator.outputHistoryFields(out, tokclass);
+		
+		out.println("  public " + classname + " (InputStream input) {");
+		out.println("    this.input = input;");
+		out.println("    buf = new byte[BUFFER_SIZE];");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public " + classname + " (byte[] bytes) {");
+		out.println("    this(bytes, 0, bytes.length);");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public " + classname + " (byte[] bytes, int offset, int length) {");
+		out.println("    wrap(bytes, offset, length);");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public " + classname + " (ByteBuffer buffer) {");
+		out.println("    if (buffer.hasArray()) {");
+		out.println("      wrap(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());");
+		out.println("    } else {");
+		out.println("      source = buffer.slice();");
+		out.println("      buf = new byte[BUFFER_SIZE];");
+		out.println("    }");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  // the bytes are scanned in place, they are all there so the buffer is never refilled (nor written to)");
+		out.println("  private void wrap(byte[] bytes, int offset, int length) {");
+		out.println("    buf = bytes;");
+		out.println("    bufOffset = -offset;");
+		out.println("    tokenStart = pos = offset;");
+		out.println("    limit = offset + length;");
+		out.println("    eof = true;");
+		out.println("  } // end wrap");
+		out.println();
+		
+		out.println("  public int getLineNumber() { countLines(pos); return line; }");
+		out.println();
+		
+		TokenizerClassCreator.outputHistoryFunctions(out, prefix, tokclass);
+		
+		out.println("  private " + tokclass + " _nextToken() throws " + prefix + "TokenizerException {");
+		out.println("    int curState;");
+		out.println();
+		out.println("  tokenLoop:");
+		out.println("    while (true) {");
+		out.println("      tokenStart = pos;");
+		out.println();
+		out.println("      curState = scan();");
+		out.println();
+		out.println("      if (curState != NO_STATE && accepting[curState] == SKIP) continue tokenLoop;");
+		out.println();
+		out.println("      // lines are only counted up to tokens that are reported");
+		out.println("      countLines(tokenStart);");
+		out.println("      int column = lineChars + 1;");
+		out.println();
+		out.println("      if (curState == NO_STATE) {");
+		out.println("        if (pos == tokenStart) {");
+		out.println("          return new " + tokclass + "(" + tokenizername + ".EOF_TOKEN, \"eof\", \"\", line, column, bufOffset + tokenStart);");
+		out.println("        }");
+		out.println("        throw new " + prefix + "NoSuchTokenException(new String(buf, tokenStart, pos - tokenStart, StandardCharsets.UTF_8), line, column);");
+		out.println("      }");
+		out.println();
+		out.println("      int type = accepting[curState];");
+		if (keyword != null) {
+			out.println("      " + keyword);
+		}
+		out.println("      shared = true;");
+		out.println("      return new " + tokclass + "(type, " + tokenizername + ".tokenName(type), buf, tokenStart, pos - tokenStart, line, column, bufOffset + tokenStart);");
+		out.println("    }");
+		out.println("  } // end _nextToken");
+		out.println();
+		
+		TokenizerClassCreator.outputBulkFillFunction(out, prefix, "accepting[curState]", keyword, "bufOffset + tokenStart", "bufOffset + pos", "lineChars + 1", "-1", "new String(buf, tokenStart, pos - tokenStart, StandardCharsets.UTF_8)");
+		
+		out.println("  private int scan() throws " + prefix + "TokenizerException {");
+		out.println("    byte[] b = buf;");
+		out.println("    int p = pos, lim = limit, start = tokenStart;");
+		out.println("    int state = 0, next;");
+		out.println("    int acceptState = NO_STATE, acceptLength = 0;");
+		out.println();
+		out.println("    while (true) {");
+		out.println("      if (p == lim) {");
+		out.println("        pos = p;");
+		out.println("        boolean more = refill();");
+		out.println("        b = buf; p = pos; lim = limit; start = tokenStart; // the buffer may have been compacted, even at the end of input");
+		out.println("        if (!more) break;");
+		out.println("      }");
+		out.println("      next = transitions[state * CLASSES + byteClasses[b[p++] & 0xff]];");
+		out.println("      if (next == NO_STATE) break;");
+		out.println("      state = next;");
+		out.println("      if (accepting[state] != NOT_ACCEPTING) {");
+		out.println("        acceptState = state;");
+		out.println("        acceptLength = p - start;");
+		out.println("      }");
+		out.println("    }");
+		out.println();
+		out.println("    pos = (acceptState != NO_STATE ? start + acceptLength : p);");
+		out.println("    return acceptState;");
+		out.println("  } // end scan");
+		out.println();
+		
+		if (keyword != null) {
+			TokenizerClassCreator.outputKeywordFunction(out, tokenizername + ".", "byte[]", "text[%s]");
+		}
+		
+		out.println("  private void countLines(int to) {");
+		out.println("    for (int i = (int)(lineCounted - bufOffset); i < to; i++) {");
+		out.println("      int c = buf[i];");
+		out.println("      if (c == '\\n' || c == '\\r') {");
+		out.println("        if (c == '\\r' || lastCounted != '\\r') line++;");
+		out.println("        lineStart = bufOffset + i + 1;");
+		out.println("        lineChars = 0;");
+		out.println("      }");
+		out.println("      else if ((c & 0xc0) != 0x80) {");
+		out.println("        // continuation bytes don't start a character, four byte sequences are two (a surrogate pair)");
+		out.println("        lineChars += ((c & 0xf8) == 0xf0 ? 2 : 1);");
+		out.println("      }");
+		out.println("      lastCounted = c;");
+		out.println("    }");
+		out.println("    if (bufOffset + to > lineCounted) lineCounted = bufOffset + to;");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  private boolean refill() throws " + prefix + "TokenizerException {");
+		out.println("    if (eof) return false;");
+		out.println("    if (limit == buf.length) {");
+		out.println("      if (tokenStart > 0) {");
+		out.println("        // bytes before the current token are no longer needed, once their lines are counted");
+		out.println("        countLines(tokenStart);");
+		out.println("        byte[] from = buf;");
+		out.println("        if (shared) {");
+		out.println("          // returned tokens still refer to the buffer, leave it to them");
+		out.println("          buf = new byte[buf.length];");
+		out.println("          shared = false;");
+		out.println("        }");
+		out.println("        System.arraycopy(from, tokenStart, buf, 0, limit - tokenStart);");
+		out.println("        bufOffset += tokenStart;");
+		out.println("        pos -= tokenStart;");
+		out.println("        limit -= tokenStart;");
+		out.println("        tokenStart = 0;");
+		out.println("      } else {");
+		out.println("        // the token fills the whole buffer");
+		out.println("        buf = Arrays.copyOf(buf, buf.length * 2);");
+		out.println("        shared = false;");
+		out.println("      }");
+		out.println("    }");
+		out.println("    int n;");
+		out.println("    if (source != null) {");
+		out.println("      n = Math.min(source.remaining(), buf.length - limit);");
+		out.println("      source.get(buf, limit, n);");
+		out.println("    } else {");
+		out.println("      try {");
+		out.println("        n = input.read(buf, limit, buf.length - limit);");
+		out.println("      }");
+		out.println("      catch (IOException ex) {");
+		out.println("        throw new " + prefix + "TokenizerException(ex);");
+		out.println("      }");
+		out.println("    }");
+		out.println("    if (n <= 0) {");
+		out.println("      eof = true;");
+		out.println("      return false;");
+		out.println("    }");
+		out.println("    limit += n;");
+		out.println("    return true;");
+		out.println("  } // end refill");
+		out.println();
+		
+		TokenizerClassCreator.outputUnpackFunction(out);
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+	/**
+	 * Byte tokenizer's DFA tables, packed like the Tokenizer's
+	 */
+	private void outputTables(PrintWriter out, TokenizerByteTables tables) {
+		
+		int[] byteClasses = new int[256];
+		for (int b = 0; b < 256; b++) {
+			byteClasses[b] = tables.getByteClass(b);
+		}
+		
+		int[] transitions = new int[tables.getNumStates() * tables.getNumClasses()];
+		int[] accepting = new int[tables.getNumStates()];
+		
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			for (int c = 0; c < tables.getNumClasses(); c++) {
+				transitions[s * tables.getNumClasses() + c] = tables.getTransition(s, c);
+			}
+			accepting[s] = tables.getAccepting(s);
+		}
+		
+		out.println("  private static final int[] byteClasses; // equivalence class of each byte");
+		out.println("  private static final int[] transitions; // next state, indexed by state * CLASSES + class");
+		out.println("  private static final int[] accepting; // token type accepted by each state");
+		out.println();
+		
+		TokenizerClassCreator.outputPacked(out, "packedByteClasses", byteClasses);
+		TokenizerClassCreator.outputPacked(out, "packedTransitions", transitions);
+		TokenizerClassCreator.outputPacked(out, "packedAccepting", accepting);
+		
+		out.println("  static {");
+		out.println("    byteClasses = unpack(packedByteClasses, 256);");
+		out.println("    transitions = unpack(packedTransitions, STATES * CLASSES);");
+		out.println("    accepting = unpack(packedAccepting, STATES);");
+		out.println("  } // end static tables");
+		out.println();
+		
+	}
+
+}
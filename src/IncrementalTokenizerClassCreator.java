@@ -0,0 +1,254 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+
+/**
+ * Output the IncrementalTokenizer class, a companion of the Tokenizer that, after a document held
+ * in memory is edited, lexes only the part of it that the edit changed.
+ *
+ * Along with each token is kept its reach: the offset following the furthest character the lexer
+ * looked at up to it (the longest match looks ahead past the end of the token). Lexing resumes
+ * after the last token whose reach comes before the edit, and stops at the first token start past
+ * the edit where a token of the previous tokenization started too, shifted by the edit. From there
+ * the text is the same and lexing starts again from the DFA's start state, so the tokens are the same.
+ *
+ * The result is a Splice of the tokens that changed, with the shift of those that follow. It can be
+ * applied to the previous TokenBuffer, in place, or to a structure of the caller's own.
+ *
+ * The DFA is run through the Tokenizer's step() and accepts() functions.
+ */
+public class IncrementalTokenizerClassCreator {
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public IncrementalTokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the incremental tokenizer class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "IncrementalTokenizer";
+		String tokenizername = prefix + "Tokenizer";
+		String bufferclass = prefix + "TokenBuffer";
+		
+		TokenizerKeywords keywords = new TokenizerKeywords(new TokenizerTables(tokendef));
+		
+		out.println("public class " + classname + " {");
+		out.println();
+		
+		out.println("  private static final int SKIP = " + TokenizerTables.SKIP + ";");
+		out.println("  private static final int NOT_ACCEPTING = " + TokenizerTables.NOT_ACCEPTING + ";");
+		out.println("  private static final int NO_STATE = " + TokenizerTables.NO_STATE + ";");
+		out.println();
+		
+		out.println("  private final CharSequence text; // the whole document, as it is after the edit");
+		out.println("  private int length; // of the text, read on each (re)tokenization as the document may be edited in place");
+		out.println();
+		
+		out.println("  private int line = 1; // line number at the offset lineCounted");
+		out.println("  private int lineStart; // offset of the start of that line");
+		out.println("  private int lineCounted; // offset up to which lines have been counted");
+		out.println();
+		
+		out.println("  // the tokens from index from on, removed of them, are replaced by those of tokens, the ones following");
+		out.println("  // them are shifted by offsetDelta and lineDelta, and by columnDelta for those on the line the splice ends on");
+		out.println("  public static final class Splice {");
+		out.println("    public final int from, removed;");
+		out.println("    public final " + bufferclass + " tokens;");
+		out.println("    public final long offsetDelta;");
+		out.println("    public final int lineDelta, columnDelta;");
+		out.println("    final long reach; // reach of the tokens replaced, the ones following have at least this reach");
+		out.println();
+		out.println("    Splice (int from, int removed, " + bufferclass + " tokens, long offsetDelta, int lineDelta, int columnDelta, long reach) {");
+		out.println("      this.from = from; this.removed = removed; this.tokens = tokens;");
+		out.println("      this.offsetDelta = offsetDelta; this.lineDelta = lineDelta; this.columnDelta = columnDelta; this.reach = reach;");
+		out.println("    }");
+		out.println();
+		out.println("    // applies the splice to the previous tokens in place, only moving those after it, and returns them,");
+		out.println("    // unless they don't fit anymore: the tokens are then copied to a buffer twice as large, which is returned");
+		out.println("    public " + bufferclass + " apply(" + bufferclass + " previous) {");
+		out.println("      int size = previous.size - removed + tokens.size, next = from + removed;");
+		out.println("      int endLine = (next < previous.size ? previous.line[next] : 0);");
+		out.println("      " + bufferclass + " result = previous;");
+		out.println("      if (size > previous.capacity()) {");
+		out.println("        result = new " + bufferclass + "(Math.max(size, previous.capacity() * 2));");
+		out.println("        result.reach = new long[result.capacity()];");
+		out.println("        copy(previous, 0, result, 0, from);");
+		out.println("      }");
+		out.println("      copy(previous, next, result, from + tokens.size, previous.size - next);");
+		out.println("      copy(tokens, 0, result, from, tokens.size);");
+		out.println("      for (int n = from + tokens.size; n < size; n++) {");
+		out.println("        if (result.line[n] == endLine) result.column[n] += columnDelta;");
+		out.println("        result.start[n] += offsetDelta;");
+		out.println("        result.end[n] += offsetDelta;");
+		out.println("        result.line[n] += lineDelta;");
+		out.println("        result.reach[n] = Math.max(result.reach[n] + offsetDelta, reach);");
+		out.println("      }");
+		out.println("      result.size = size;");
+		out.println("      return result;");
+		out.println("    } // end apply");
+		out.println("  } // end Splice");
+		out.println();
+		
+		out.println("  public " + classname + " (CharSequence text) { this.text = text; }");
+		out.println();
+		
+		out.println("  // all the tokens of the text, which can be retokenized after an edit");
+		out.println("  public " + bufferclass + " tokenize() throws " + prefix + "TokenizerException {");
+		out.println("    length = text.length();");
+		out.println("    line = 1;");
+		out.println("    lineStart = lineCounted = 0;");
+		out.println("    return lex(0, 0, null, 0, 0, 0).tokens;");
+		out.println("  }");
+		out.println();
+		
+		out.println("  // the changes to the previous tokens (from tokenize() or a splice applied) after the text at editOffset, removedLength");
+		out.println("  // characters long, was replaced by insertedLength characters");
+		out.println("  public Splice retokenize(" + bufferclass + " previous, int editOffset, int removedLength, int insertedLength) throws " + prefix + "TokenizerException {");
+		out.println("    if (previous.reach == null) {");
+		out.println("      throw new IllegalArgumentException(\"The previous tokens have to come from the " + classname + ".\");");
+		out.println("    }");
+		out.println("    // the last token which, with all those before it, was lexed without looking at the edited text");
+		out.println("    int low = 0, high = previous.size;");
+		out.println("    while (low < high) {");
+		out.println("      int mid = (low + high) >>> 1;");
+		out.println("      if (previous.reach[mid] <= editOffset) low = mid + 1; else high = mid;");
+		out.println("    }");
+		out.println("    int last = low - 1;");
+		out.println();
+		out.println("    length = text.length();");
+		out.println("    int p = 0;");
+		out.println("    long reach = 0;");
+		out.println("    line = 1;");
+		out.println("    lineStart = lineCounted = 0;");
+		out.println("    if (last >= 0) {");
+		out.println("      p = (int)previous.end[last];");
+		out.println("      reach = previous.reach[last];");
+		out.println("      line = previous.line[last];");
+		out.println("      lineStart = (int)previous.start[last] - previous.column[last] + 1;");
+		out.println("      lineCounted = (int)previous.start[last];");
+		out.println("    }");
+		out.println("    return lex(p, reach, previous, last + 1, editOffset + insertedLength, insertedLength - removedLength);");
+		out.println("  } // end retokenize");
+		out.println();
+		
+		String keyword = (keywords.isEmpty() ? null : "if (" + TokenizerClassCreator.keywordCondition(keywords, tokenizername + ".") + ") type = keyword(type, text, tokenStart, p - tokenStart);");
+		
+		out.println("  // lex from offset p until the tokens are back in step with the previous ones from index from, shifted by delta,");
+		out.println("  // which can't be before sync, or to the end of the text");
+		out.println("  private Splice lex(int p, long reach, " + bufferclass + " previous, int from, int sync, long delta) throws " + prefix + "TokenizerException {");
+		out.println("    " + bufferclass + " tokens = new " + bufferclass + "(previous == null ? 1024 : 16);");
+		out.println("    tokens.reach = new long[tokens.capacity()];");
+		out.println("    int old = from; // the first of the previous tokens that may be in step");
+		out.println();
+		out.println("    while (true) {");
+		out.println("      if (previous != null && p >= sync) {");
+		out.println("        while (old < previous.size && previous.start[old] + delta < p) old++;");
+		out.println("        if (old < previous.size && previous.start[old] + delta == p) break;");
+		out.println("      }");
+		out.println("      if (p == length) {");
+		out.println("        if (previous != null) old = previous.size;");
+		out.println("        break;");
+		out.println("      }");
+		out.println();
+		out.println("      int tokenStart = p, state = 0, next;");
+		out.println("      int acceptState = NO_STATE, acceptEnd = p;");
+		out.println("      while (p < length && (next = " + tokenizername + ".step(state, text.charAt(p))) != NO_STATE) {");
+		out.println("        state = next;");
+		out.println("        p++;");
+		out.println("        if (" + tokenizername + ".accepts(state) != NOT_ACCEPTING) {");
+		out.println("          acceptState = state;");
+		out.println("          acceptEnd = p;");
+		out.println("        }");
+		out.println("      }");
+		out.println("      // the character that stopped the DFA was looked at, or the end of the text");
+		out.println("      reach = Math.max(reach, p + 1);");
+		out.println();
+		out.println("      if (acceptState == NO_STATE) {");
+		out.println("        countLines(tokenStart);");
+		out.println("        throw new " + prefix + "NoSuchTokenException(text.subSequence(tokenStart, Math.min(p + 1, length)).toString(), line, tokenStart - lineStart + 1);");
+		out.println("      }");
+		out.println("      p = acceptEnd;");
+		out.println("      int type = " + tokenizername + ".accepts(acceptState);");
+		out.println("      if (type == SKIP) continue;");
+		if (keyword != null) {
+			out.println("      " + keyword);
+		}
+		out.println();
+		out.println("      countLines(tokenStart);");
+		out.println("      if (tokens.size == tokens.capacity()) tokens = grow(tokens);");
+		out.println("      int n = tokens.size++;");
+		out.println("      tokens.type[n] = type;");
+		out.println("      tokens.start[n] = tokenStart;");
+		out.println("      tokens.end[n] = p;");
+		out.println("      tokens.line[n] = line;");
+		out.println("      tokens.column[n] = tokenStart - lineStart + 1;");
+		out.println("      tokens.symbol[n] = -1;");
+		out.println("      tokens.reach[n] = reach;");
+		out.println("    }");
+		out.println();
+		out.println("    if (previous == null || old == previous.size) return new Splice(from, old - from, tokens, delta, 0, 0, reach);");
+		out.println("    countLines(p);");
+		out.println("    return new Splice(from, old - from, tokens, delta, line - previous.line[old], (p - lineStart + 1) - previous.column[old], reach);");
+		out.println("  } // end lex");
+		out.println();
+		
+		out.println("  private boolean isLineBreak(int i) {");
+		out.println("    return text.charAt(i) == '\\r' || (text.charAt(i) == '\\n' && (i == 0 || text.charAt(i - 1) != '\\r'));");
+		out.println("  }");
+		out.println();
+		
+		out.println("  private void countLines(int to) {");
+		out.println("    for (int i = lineCounted; i < to; i++) {");
+		out.println("      char c = text.charAt(i);");
+		out.println("      if (c == '\\n' || c == '\\r') {");
+		out.println("        if (isLineBreak(i)) line++;");
+		out.println("        lineStart = i + 1;");
+		out.println("      }");
+		out.println("    }");
+		out.println("    lineCounted = to;");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  private static " + bufferclass + " grow(" + bufferclass + " tokens) {");
+		out.println("    " + bufferclass + " grown = new " + bufferclass + "(tokens.capacity() * 2);");
+		out.println("    grown.reach = new long[grown.capacity()];");
+		out.println("    copy(tokens, 0, grown, 0, tokens.size);");
+		out.println("    grown.size = tokens.size;");
+		out.println("    return grown;");
+		out.println("  }");
+		out.println();
+		
+		out.println("  private static void copy(" + bufferclass + " src, int srcPos, " + bufferclass + " dest, int destPos, int length) {");
+		out.println("    System.arraycopy(src.type, srcPos, dest.type, destPos, length);");
+		out.println("    System.arraycopy(src.start, srcPos, dest.start, destPos, length);");
+		out.println("    System.arraycopy(src.end, srcPos, dest.end, destPos, length);");
+		out.println("    System.arraycopy(src.line, srcPos, dest.line, destPos, length);");
+		out.println("    System.arraycopy(src.column, srcPos, dest.column, destPos, length);");
+		out.println("    System.arraycopy(src.symbol, srcPos, dest.symbol, destPos, length);");
+		out.println("    System.arraycopy(src.reach, srcPos, dest.reach, destPos, length);");
+		out.println("  }");
+		out.println();
+		
+		if (keyword != null) {
+			TokenizerClassCreator.outputKeywordFunction(out, tokenizername + ".", "CharSequence", "text.charAt(%s)");
+		}
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+}
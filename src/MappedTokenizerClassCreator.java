@@ -0,0 +1,243 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+
+/**
+ * Output the MappedTokenizer class, a companion of the Tokenizer that reads a file
+ * through a memory mapping instead of a Reader.
+ *
+ * The file is mapped in windows of at most MAP_SIZE bytes (a single mapping can't exceed 2GB),
+ * the next window starting at the token being scanned whenever the end of one is reached.
+ * Each byte is taken as a character of its own (ISO-8859-1), no decoding is done, and the DFA
+ * is run through the Tokenizer's step() and accepts() functions so its tables aren't duplicated.
+ *
+ * Token offsets are absolute byte offsets in the file, held in a long.
+ */
+public class MappedTokenizerClassCreator {
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public MappedTokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the mapped tokenizer class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "MappedTokenizer";
+		String tokenizername = prefix + "Tokenizer";
+		String interfacename = prefix + "iTokenizer";
+		String tokclass = prefix + "Token";
+		
+		TokenizerKeywords keywords = new TokenizerKeywords(new TokenizerTables(tokendef));
+		
+		String keyword = (keywords.isEmpty() ? null : "if (" + TokenizerClassCreator.keywordCondition(keywords, tokenizername + ".") + ") type = keyword(type, map, (int)(tokenStart - mapOffset), (int)(pos - tokenStart));");
+		
+		out.println("import java.io.*;");
+		out.println("import java.nio.ByteBuffer;");
+		out.println("import java.nio.MappedByteBuffer;");
+		out.println("import java.nio.channels.FileChannel;");
+		out.println("import java.nio.charset.StandardCharsets;");
+		out.println("import java.nio.file.*;");
+		out.println("import java.util.Spliterator;");
+		out.println("import java.util.Spliterators;");
+		out.println("import java.util.function.IntConsumer;");
+		out.println("import java.util.stream.IntStream;");
+		out.println("import java.util.stream.StreamSupport;");
+		out.println();
+		
+		out.println("public class " + classname + " implements " + interfacename + ", Closeable {");
+		out.println();
+		
+		out.println("  private static final int SKIP = 0;");
+		out.println("  private static final int NOT_ACCEPTING = -1;");
+		out.println("  private static final int NO_STATE = -1;");
+		out.println();
+		
+		out.println("  private static final int MAP_SIZE = Integer.MAX_VALUE; // largest window mapped at once");
+		out.println();
+		
+		out.println("  private FileChannel channel;");
+		out.println("  private boolean ownsChannel; // the channel was opened here and is closed with the tokenizer");
+		out.println("  private long size; // size of the file");
+		out.println();
+		
+		out.println("  private MappedByteBuffer map; // the window of the file being scanned");
+		out.println("  private long mapOffset; // absolute offset of the window in the file");
+		out.println("  private long tokenStart; // absolute offset of the token being scanned");
+		out.println("  private long pos; // absolute offset of the next byte to scan");
+		out.println();
+		
+		out.println("  private int line = 1; // line number at the offset lineCounted");
+		out.println("  private long lineStart; // offset of the start of that line");
+		out.println("  private long lineCounted; // offset up to which lines have been counted");
+		out.println("  private int lastCounted; // the last byte counted, to join \\r\\n");
+		out.println();
+		
+		TokenizerClassCreator.outputHistoryFields(out, tokclass);
+		
+		out.println("  public " + classname + " (Path path) throws IOException {");
+		out.println("    this(FileChannel.open(path, StandardOpenOption.READ), true);");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public " + classname + " (FileChannel channel) throws IOException {");
+		out.println("    this(channel, false);");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  private " + classname + " (FileChannel channel, boolean ownsChannel) throws IOException {");
+		out.println("    this.channel = channel;");
+		out.println("    this.ownsChannel = ownsChannel;");
+		out.println("    try {");
+		out.println("      size = channel.size();");
+		out.println("      map = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAP_SIZE));");
+		out.println("    }");
+		out.println("    catch (IOException | RuntimeException ex) {");
+		out.println("      // a channel opened here would otherwise be left open, as the tokenizer is never returned");
+		out.println("      if (ownsChannel) {");
+		out.println("        try {");
+		out.println("          channel.close();");
+		out.println("        }");
+		out.println("        catch (IOException closeEx) {");
+		out.println("          ex.addSuppressed(closeEx);");
+		out.println("        }");
+		out.println("      }");
+		out.println("      throw ex;");
+		out.println("    }");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public void close() throws IOException {");
+		out.println("    map = null;");
+		out.println("    if (ownsChannel) channel.close();");
+		out.println("  } // end close");
+		out.println();
+		
+		out.println("  public int getLineNumber() { countLines(pos); return line; }");
+		out.println("  public long getOffset() { return pos; }");
+		out.println();
+		
+		TokenizerClassCreator.outputHistoryFunctions(out, prefix, tokclass);
+		
+		out.println("  private " + tokclass + " _nextToken() throws " + prefix + "TokenizerException {");
+		out.println("    int curState;");
+		out.println();
+		out.println("  tokenLoop:");
+		out.println("    while (true) {");
+		out.println("      tokenStart = pos;");
+		out.println();
+		out.println("      curState = scan();");
+		out.println();
+		out.println("      if (curState != NO_STATE && " + tokenizername + ".accepts(curState) == SKIP) continue tokenLoop;");
+		out.println();
+		out.println("      // lines are only counted up to tokens that are reported");
+		out.println("      countLines(tokenStart);");
+		out.println("      int column = (int)(tokenStart - lineStart) + 1;");
+		out.println();
+		out.println("      if (curState == NO_STATE) {");
+		out.println("        if (pos == tokenStart) {");
+		out.println("          return new " + tokclass + "(" + tokenizername + ".EOF_TOKEN, \"eof\", \"\", line, column, tokenStart);");
+		out.println("        }");
+		out.println("        throw new " + prefix + "NoSuchTokenException(value(), line, column);");
+		out.println("      }");
+		out.println();
+		out.println("      int type = " + tokenizername + ".accepts(curState);");
+		if (keyword != null) {
+			out.println("      " + keyword);
+		}
+		out.println("      return new " + tokclass + "(type, " + tokenizername + ".tokenName(type), map, (int)(tokenStart - mapOffset), (int)(pos - tokenStart), line, column, tokenStart);");
+		out.println("    }");
+		out.println("  } // end _nextToken");
+		out.println();
+		
+		TokenizerClassCreator.outputBulkFillFunction(out, prefix, tokenizername + ".accepts(curState)", keyword, "tokenStart", "pos", "(int)(tokenStart - lineStart) + 1", "-1", "value()");
+		
+		out.println("  private int scan() throws " + prefix + "TokenizerException {");
+		out.println("    MappedByteBuffer b = map;");
+		out.println("    int p = (int)(pos - mapOffset), lim = b.limit(), start = (int)(tokenStart - mapOffset);");
+		out.println("    int state = 0, next;");
+		out.println("    int acceptState = NO_STATE, acceptLength = 0;");
+		out.println();
+		out.println("    while (true) {");
+		out.println("      if (p == lim) {");
+		out.println("        pos = mapOffset + p;");
+		out.println("        if (!remap()) break;");
+		out.println("        b = map; p = (int)(pos - mapOffset); lim = b.limit(); start = 0;");
+		out.println("      }");
+		out.println("      next = " + tokenizername + ".step(state, b.get(p++) & 0xff);");
+		out.println("      if (next == NO_STATE) break;");
+		out.println("      state = next;");
+		out.println("      if (" + tokenizername + ".accepts(state) != NOT_ACCEPTING) {");
+		out.println("        acceptState = state;");
+		out.println("        acceptLength = p - start;");
+		out.println("      }");
+		out.println("    }");
+		out.println();
+		out.println("    pos = mapOffset + (acceptState != NO_STATE ? start + acceptLength : p);");
+		out.println("    return acceptState;");
+		out.println("  } // end scan");
+		out.println();
+		
+		if (keyword != null) {
+			TokenizerClassCreator.outputKeywordFunction(out, tokenizername + ".", "MappedByteBuffer", "text.get(%s)");
+		}
+		
+		out.println("  private String value() {");
+		out.println("    byte[] value = new byte[(int)(pos - tokenStart)];");
+		out.println("    // read through a view, tokens share the map and its position");
+		out.println("    ByteBuffer view = map.duplicate();");
+		out.println("    view.position((int)(tokenStart - mapOffset));");
+		out.println("    view.get(value);");
+		out.println("    return new String(value, StandardCharsets.ISO_8859_1);");
+		out.println("  } // end value");
+		out.println();
+		
+		out.println("  private void countLines(long to) {");
+		out.println("    for (long i = lineCounted; i < to; i++) {");
+		out.println("      int c = map.get((int)(i - mapOffset));");
+		out.println("      if (c == '\\n' || c == '\\r') {");
+		out.println("        if (c == '\\r' || lastCounted != '\\r') line++;");
+		out.println("        lineStart = i + 1;");
+		out.println("      }");
+		out.println("      lastCounted = c;");
+		out.println("    }");
+		out.println("    if (to > lineCounted) lineCounted = to;");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  private boolean remap() throws " + prefix + "TokenizerException {");
+		out.println("    if (mapOffset + map.limit() == size) return false;");
+		out.println("    if (tokenStart == mapOffset) {");
+		out.println("      throw new " + prefix + "TokenizerException(\"Token at offset \" + tokenStart + \" is too long to be mapped.\");");
+		out.println("    }");
+		out.println("    // the new window starts at the current token, lines before it have to be counted first");
+		out.println("    countLines(tokenStart);");
+		out.println("    try {");
+		out.println("      map = channel.map(FileChannel.MapMode.READ_ONLY, tokenStart, Math.min(size - tokenStart, MAP_SIZE));");
+		out.println("    }");
+		out.println("    catch (IOException ex) {");
+		out.println("      throw new " + prefix + "TokenizerException(ex);");
+		out.println("    }");
+		out.println("    mapOffset = tokenStart;");
+		out.println("    return true;");
+		out.println("  } // end remap");
+		out.println();
+		
+		out.println("} // end " + classname);
+		
+	}
+
+}
@@ -0,0 +1,273 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+
+/**
+ * Output the ParallelTokenizer class, a companion of the Tokenizer that tokenizes a whole input
+ * held in memory on a fork-join pool, into a TokenBuffer.
+ *
+ * The input is cut into chunks (ending on line breaks where possible), each lexed in a task of its own
+ * as if a token started right at its beginning. The chunks are then stitched in order: the true
+ * tokenization reaches each chunk where the last token of the previous one ends, and since lexing
+ * from a token's start is deterministic, the chunk's tokens are kept from the one starting there.
+ * Skip tokens are recorded as well, by their start and the token following them, so the chunk lines
+ * up wherever its lexing went through that offset. Only a chunk that didn't is lexed again. Lines and columns, which depend on
+ * all the input before a token, are counted in a last parallel pass.
+ *
+ * The DFA is run through the Tokenizer's step() and accepts() functions.
+ */
+public class ParallelTokenizerClassCreator {
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public ParallelTokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the parallel tokenizer class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "ParallelTokenizer";
+		String tokenizername = prefix + "Tokenizer";
+		String bufferclass = prefix + "TokenBuffer";
+		
+		TokenizerKeywords keywords = new TokenizerKeywords(new TokenizerTables(tokendef));
+		
+		out.println("import java.util.ArrayList;");
+		out.println("import java.util.Arrays;");
+		out.println("import java.util.concurrent.ForkJoinPool;");
+		out.println("import java.util.concurrent.ForkJoinTask;");
+		out.println();
+		
+		out.println("public class " + classname + " {");
+		out.println();
+		
+		out.println("  private static final int SKIP = " + TokenizerTables.SKIP + ";");
+		out.println("  private static final int NOT_ACCEPTING = " + TokenizerTables.NOT_ACCEPTING + ";");
+		out.println("  private static final int NO_STATE = " + TokenizerTables.NO_STATE + ";");
+		out.println();
+		
+		out.println("  private static final int MIN_CHUNK = 1 << 16; // smallest chunk worth a task of its own");
+		out.println("  private static final int LINE_SEARCH = 1 << 12; // how far past its size a chunk is stretched to end on a line break");
+		out.println();
+		
+		out.println("  private final char[] text;");
+		out.println("  private final int length;");
+		out.println();
+		
+		out.println("  // a chunk of the input and the tokens starting in it");
+		out.println("  private static final class Chunk {");
+		out.println("    final int from, to; // the tokens starting in [from, to) belong to the chunk");
+		out.println("    int start; // where the chunk was lexed from, a token is expected to start there");
+		out.println("    int end; // end of the last token, at or after to unless lexing failed");
+		out.println("    int error = -1, errorEnd; // the text that didn't lex, error is -1 if there is none");
+		out.println("    int[] type = new int[64], starts = new int[64], ends = new int[64];");
+		out.println("    int size; // number of tokens");
+		out.println("    int[] skipStarts = new int[64], skipNext = new int[64]; // skip tokens, by their start and the index of the token after them");
+		out.println("    int skips; // number of skip tokens");
+		out.println("    int first; // the first token kept once stitched, those before it were mislexed");
+		out.println("    int offset; // index of the first token kept in the whole tokenization");
+		out.println("    int lines; // number of line breaks in [from, to)");
+		out.println("    int lineStart = -1; // offset following the last of them, -1 if there is none");
+		out.println();
+		out.println("    Chunk (int from, int to) { this.from = from; this.to = to; }");
+		out.println();
+		out.println("    void add(int t, int s, int e) {");
+		out.println("      if (size == type.length) {");
+		out.println("        type = Arrays.copyOf(type, size * 2);");
+		out.println("        starts = Arrays.copyOf(starts, size * 2);");
+		out.println("        ends = Arrays.copyOf(ends, size * 2);");
+		out.println("      }");
+		out.println("      type[size] = t; starts[size] = s; ends[size] = e;");
+		out.println("      size++;");
+		out.println("    }");
+		out.println();
+		out.println("    void addSkip(int s) {");
+		out.println("      if (skips == skipStarts.length) {");
+		out.println("        skipStarts = Arrays.copyOf(skipStarts, skips * 2);");
+		out.println("        skipNext = Arrays.copyOf(skipNext, skips * 2);");
+		out.println("      }");
+		out.println("      skipStarts[skips] = s; skipNext[skips] = size;");
+		out.println("      skips++;");
+		out.println("    }");
+		out.println("  } // end Chunk");
+		out.println();
+		
+		out.println("  public " + classname + " (char[] text) { this(text, text.length); }");
+		out.println("  public " + classname + " (char[] text, int length) { this.text = text; this.length = length; }");
+		out.println("  public " + classname + " (CharSequence text) { this(text.toString().toCharArray()); }");
+		out.println();
+		
+		out.println("  public " + bufferclass + " tokenize() throws " + prefix + "TokenizerException {");
+		out.println("    ForkJoinPool pool = ForkJoinPool.commonPool();");
+		out.println("    return tokenize(pool, Math.max(MIN_CHUNK, length / (pool.getParallelism() * 4)));");
+		out.println("  }");
+		out.println();
+		
+		out.println("  public " + bufferclass + " tokenize(ForkJoinPool pool, int chunkSize) throws " + prefix + "TokenizerException {");
+		out.println("    if (chunkSize <= 0) throw new IllegalArgumentException(\"chunk size must be positive: \" + chunkSize);");
+		out.println();
+		out.println("    ArrayList<Chunk> chunks = new ArrayList<Chunk>();");
+		out.println("    for (int from = 0; from < length; ) {");
+		out.println("      int to = (int)Math.min(length, (long)from + chunkSize);");
+		out.println("      // tokens seldom go over line breaks, end the chunk on one so the next is lexed right from the start");
+		out.println("      for (int i = to, last = (int)Math.min(length, (long)to + LINE_SEARCH); i < last; i++) {");
+		out.println("        if (text[i - 1] == '\\n') {");
+		out.println("          to = i;");
+		out.println("          break;");
+		out.println("        }");
+		out.println("      }");
+		out.println("      chunks.add(new Chunk(from, to));");
+		out.println("      from = to;");
+		out.println("    }");
+		out.println();
+		out.println("    ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();");
+		out.println("    for (Chunk chunk : chunks) {");
+		out.println("      tasks.add(pool.submit(() -> { lex(chunk, chunk.from); countLines(chunk); }));");
+		out.println("    }");
+		out.println("    for (ForkJoinTask<?> task : tasks) task.join();");
+		out.println();
+		out.println("    // the tokenization reaches each chunk where the last token of the previous one ends");
+		out.println("    int aligned = 0, size = 0;");
+		out.println("    for (Chunk chunk : chunks) {");
+		out.println("      if (chunk.start != aligned) {");
+		out.println("        int first = Arrays.binarySearch(chunk.starts, 0, chunk.size, aligned);");
+		out.println("        int skip = Arrays.binarySearch(chunk.skipStarts, 0, chunk.skips, aligned);");
+		out.println("        if (first >= 0) {");
+		out.println("          chunk.first = first;");
+		out.println("        } else if (skip >= 0) {");
+		out.println("          chunk.first = chunk.skipNext[skip];");
+		out.println("        } else {");
+		out.println("          lex(chunk, aligned);");
+		out.println("        }");
+		out.println("      }");
+		out.println("      if (chunk.error != -1) throw noSuchToken(chunk);");
+		out.println("      aligned = chunk.end;");
+		out.println("      chunk.offset = size;");
+		out.println("      size += chunk.size - chunk.first;");
+		out.println("    }");
+		out.println();
+		out.println("    " + bufferclass + " tokens = new " + bufferclass + "(size);");
+		out.println("    tokens.size = size;");
+		out.println("    Arrays.fill(tokens.symbol, -1);");
+		out.println();
+		out.println("    tasks.clear();");
+		out.println("    int line = 1, lineStart = 0; // at the start of the chunk");
+		out.println("    for (Chunk chunk : chunks) {");
+		out.println("      int chunkLine = line, chunkLineStart = lineStart;");
+		out.println("      tasks.add(pool.submit(() -> copy(chunk, tokens, chunkLine, chunkLineStart)));");
+		out.println("      line += chunk.lines;");
+		out.println("      if (chunk.lineStart != -1) lineStart = chunk.lineStart;");
+		out.println("    }");
+		out.println("    for (ForkJoinTask<?> task : tasks) task.join();");
+		out.println();
+		out.println("    return tokens;");
+		out.println("  } // end tokenize");
+		out.println();
+		
+		String keyword = (keywords.isEmpty() ? null : "if (" + TokenizerClassCreator.keywordCondition(keywords, tokenizername + ".") + ") type = keyword(type, text, tokenStart, p - tokenStart);");
+		
+		out.println("  // lex the tokens starting in the chunk, from the given offset");
+		out.println("  private void lex(Chunk chunk, int p) {");
+		out.println("    chunk.start = p;");
+		out.println("    chunk.size = chunk.skips = chunk.first = 0;");
+		out.println("    chunk.error = -1;");
+		out.println("    while (p < chunk.to) {");
+		out.println("      int tokenStart = p, state = 0, next;");
+		out.println("      int acceptState = NO_STATE, acceptEnd = p;");
+		out.println("      while (p < length && (next = " + tokenizername + ".step(state, text[p])) != NO_STATE) {");
+		out.println("        state = next;");
+		out.println("        p++;");
+		out.println("        if (" + tokenizername + ".accepts(state) != NOT_ACCEPTING) {");
+		out.println("          acceptState = state;");
+		out.println("          acceptEnd = p;");
+		out.println("        }");
+		out.println("      }");
+		out.println("      if (acceptState == NO_STATE) {");
+		out.println("        // the character that failed is part of the value, as for the Tokenizer");
+		out.println("        chunk.error = tokenStart;");
+		out.println("        chunk.errorEnd = Math.min(p + 1, length);");
+		out.println("        break;");
+		out.println("      }");
+		out.println("      p = acceptEnd;");
+		out.println("      int type = " + tokenizername + ".accepts(acceptState);");
+		out.println("      if (type == SKIP) {");
+		out.println("        chunk.addSkip(tokenStart);");
+		out.println("        continue;");
+		out.println("      }");
+		if (keyword != null) {
+			out.println("      " + keyword);
+		}
+		out.println("      chunk.add(type, tokenStart, p);");
+		out.println("    }");
+		out.println("    chunk.end = p;");
+		out.println("  } // end lex");
+		out.println();
+		
+		out.println("  private boolean isLineBreak(int i) {");
+		out.println("    return text[i] == '\\r' || (text[i] == '\\n' && (i == 0 || text[i - 1] != '\\r'));");
+		out.println("  }");
+		out.println();
+		
+		out.println("  private void countLines(Chunk chunk) {");
+		out.println("    for (int i = chunk.from; i < chunk.to; i++) {");
+		out.println("      if (text[i] == '\\n' || text[i] == '\\r') {");
+		out.println("        if (isLineBreak(i)) chunk.lines++;");
+		out.println("        chunk.lineStart = i + 1;");
+		out.println("      }");
+		out.println("    }");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  // copy the tokens kept of the chunk, with their lines and columns counted from the chunk's start");
+		out.println("  private void copy(Chunk chunk, " + bufferclass + " tokens, int line, int lineStart) {");
+		out.println("    int i = chunk.from;");
+		out.println("    for (int k = chunk.first, n = chunk.offset; k < chunk.size; k++, n++) {");
+		out.println("      for (int start = chunk.starts[k]; i < start; i++) {");
+		out.println("        if (text[i] == '\\n' || text[i] == '\\r') {");
+		out.println("          if (isLineBreak(i)) line++;");
+		out.println("          lineStart = i + 1;");
+		out.println("        }");
+		out.println("      }");
+		out.println("      tokens.type[n] = chunk.type[k];");
+		out.println("      tokens.start[n] = chunk.starts[k];");
+		out.println("      tokens.end[n] = chunk.ends[k];");
+		out.println("      tokens.line[n] = line;");
+		out.println("      tokens.column[n] = chunk.starts[k] - lineStart + 1;");
+		out.println("    }");
+		out.println("  } // end copy");
+		out.println();
+		
+		out.println("  private " + prefix + "NoSuchTokenException noSuchToken(Chunk chunk) {");
+		out.println("    int line = 1, lineStart = 0;");
+		out.println("    for (int i = 0; i < chunk.error; i++) {");
+		out.println("      if (text[i] == '\\n' || text[i] == '\\r') {");
+		out.println("        if (isLineBreak(i)) line++;");
+		out.println("        lineStart = i + 1;");
+		out.println("      }");
+		out.println("    }");
+		out.println("    return new " + prefix + "NoSuchTokenException(new String(text, chunk.error, chunk.errorEnd - chunk.error), line, chunk.error - lineStart + 1);");
+		out.println("  } // end noSuchToken");
+		out.println();
+		
+		if (keyword != null) {
+			TokenizerClassCreator.outputKeywordFunction(out, tokenizername + ".", "char[]", "text[%s]");
+		}
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+}
@@ -44,10 +44,22 @@ public class ParserClassCreator {
 		out.println();
 		out.println("  private " + prefix + "iTokenizer tokenizer;");
 		out.println();
-		out.println("  private HashMap<String, HashMap<String, GrammarRule>> table = new HashMap<String, HashMap<String, GrammarRule>>();");
+		out.println("  // the parse table, built once and shared by all parsers");
+		out.println("  private static final HashMap<String, HashMap<String, GrammarRule>> table = new HashMap<String, HashMap<String, GrammarRule>>();");
+		out.println("  static { buildTable(); }");
+		out.println();
+		out.println("  private static final GrammarState startState = new GrammarState(startRuleName, GrammarState.RULE);");
+		out.println();
+		out.println("  private final Stack<GrammarState> stateStack = new Stack<GrammarState>(); // reused from one parse to the next");
+		out.println();
+		
+		out.println("  public " + classname + " (" + prefix + "iTokenizer tokenizer) { this.tokenizer = tokenizer; }");
 		out.println();
 		
-		out.println("  public " + classname + " (" + prefix + "iTokenizer tokenizer) { this.tokenizer = tokenizer; buildTable(); }");
+		out.println("  // parse a new input from the given tokenizer, the parser's state is reused");
+		out.println("  public void reset(" + prefix + "iTokenizer tokenizer) {");
+		out.println("    this.tokenizer = tokenizer;");
+		out.println("  }");
 		out.println();
 		
 		outputParseFunction(out, startRuleName);
@@ -81,12 +93,11 @@ public class ParserClassCreator {
 		out.println();
 		out.println("    GrammarState curState;");
 		out.println();
-		out.println("    Stack<GrammarState> stateStack = new Stack<GrammarState>();");
-		out.println();
 		out.println("    " + node(startRuleName) + " parseTree = null;");
 		out.println("    " + prefix + "ASTNode curNode = null;");
 		out.println();
-		out.println("    stateStack.push(new GrammarState(startRuleName, GrammarState.RULE));");
+		out.println("    stateStack.clear(); // what a parse that failed left");
+		out.println("    stateStack.push(startState);");
 		out.println();
 		out.println("    curToken = tokenizer.nextToken();");
 		out.println();
@@ -116,12 +127,12 @@ public class ParserClassCreator {
 		out.println("      else if (curState.type == GrammarState.TOKEN) {");
 		out.println();
 		out.println("        if (!curState.name.equals(curToken.name)) {");
-		out.println("          throw new " + prefix + "ParserException(\"Invalid token \\\"\" + curToken.value + \"\\\" (\" + curToken.name + \"), expected token (\" + curState.name + \")\"	, curToken.line, curToken.column);");
+		out.println("          throw new " + prefix + "ParserException(\"Invalid token \\\"\" + curToken.getValue() + \"\\\" (\" + curToken.name + \"), expected token (\" + curState.name + \")\"	, curToken.line, curToken.column);");
 		out.println("        }");
 		out.println();
 		out.println("        if (curToken.name.equals(\"eof\")) break;");
 		out.println();
-		out.println("        curNode.addChild(new " + prefix + "ASTToken(curToken.name, curToken.value));");
+		out.println("        curNode.addChild(new " + prefix + "ASTToken(curToken));");
 		out.println();		
 		out.println("        curToken = tokenizer.nextToken();");
 		out.println();
@@ -133,7 +144,7 @@ public class ParserClassCreator {
 		out.println("        if (newrule == null) {");
 		out.println("          String expected = \"\";");
 		out.println("          for (String t : table.get(curState.name).keySet()) if (t != null) expected += t + \", \";");
-		out.println("          throw new " + prefix + "ParserException(\"Invalid token \\\"\" + curToken.value + \"\\\" (\" + curToken.name + \") for rule \\\"\" + curState.name.replaceAll(\"\\\\{.*\", \"\") + \"\\\", expected one of (\" + expected.substring(0, expected.length()-2) + \")\", curToken.line, curToken.column);");
+		out.println("          throw new " + prefix + "ParserException(\"Invalid token \\\"\" + curToken.getValue() + \"\\\" (\" + curToken.name + \") for rule \\\"\" + curState.name.replaceAll(\"\\\\{.*\", \"\") + \"\\\", expected one of (\" + expected.substring(0, expected.length()-2) + \")\", curToken.line, curToken.column);");
 		out.println("        }");
 		out.println();
 		out.println("        if (!newrule.subrule) {");
@@ -188,7 +199,7 @@ public class ParserClassCreator {
 	 */
 	private void outputBuildTableFunction(PrintWriter out) {
 		
-		out.println("  private void buildTable() {");
+		out.println("  private static void buildTable() {");
 		
 		out.println("    GrammarState[] graph;");
 		
@@ -225,7 +236,7 @@ public class ParserClassCreator {
 	 */
 	private void outputGrammarRuleClass(PrintWriter out) {
 		
-		out.println("  private class GrammarRule {");
+		out.println("  private static class GrammarRule {");
 		out.println("    String name;");
 		out.println("    boolean multi_child, subrule;");
 		out.println("    GrammarState[] graph;");
@@ -242,7 +253,7 @@ public class ParserClassCreator {
 	 */
 	private void outputGrammarStateClass(PrintWriter out) {
 		
-		out.println("  private class GrammarState {");
+		out.println("  private static class GrammarState {");
 		out.println("    public static final int TOKEN = 1, RULE = 2, EPSILON = 3;");
 		out.println("    String name;");
 		out.println("    int type;");
@@ -0,0 +1,252 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+
+/**
+ * Output the PushTokenizer class, a companion of the Tokenizer that is fed its input in chunks
+ * as they arrive rather than reading from a Reader, and hands the tokens completed to a callback.
+ * No call ever blocks, so a single thread can lex many streams.
+ *
+ * The characters from the start of the token being scanned are kept in a buffer, along with the
+ * DFA's state and its last accepting state, so a token going over the end of a chunk is scanned
+ * on when the next one is fed. Bytes are decoded as UTF-8, a character going over the end of a
+ * chunk is decoded when the rest of it is fed.
+ *
+ * The DFA is run through the Tokenizer's step() and accepts() functions.
+ */
+public class PushTokenizerClassCreator {
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public PushTokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the push tokenizer class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "PushTokenizer";
+		String tokenizername = prefix + "Tokenizer";
+		String tokclass = prefix + "Token";
+		String exception = prefix + "TokenizerException";
+		
+		TokenizerKeywords keywords = new TokenizerKeywords(new TokenizerTables(tokendef));
+		
+		out.println("import java.nio.ByteBuffer;");
+		out.println("import java.nio.CharBuffer;");
+		out.println("import java.nio.charset.CharsetDecoder;");
+		out.println("import java.nio.charset.CodingErrorAction;");
+		out.println("import java.nio.charset.StandardCharsets;");
+		out.println("import java.util.function.Consumer;");
+		out.println();
+		
+		out.println("public class " + classname + " {");
+		out.println();
+		
+		out.println("  private static final int SKIP = " + TokenizerTables.SKIP + ";");
+		out.println("  private static final int NOT_ACCEPTING = " + TokenizerTables.NOT_ACCEPTING + ";");
+		out.println("  private static final int NO_STATE = " + TokenizerTables.NO_STATE + ";");
+		out.println();
+		
+		out.println("  private static final int BUFFER_SIZE = 4096;");
+		out.println();
+		
+		out.println("  private final Consumer<? super " + tokclass + "> handler; // given the tokens, the eof token last");
+		out.println();
+		
+		out.println("  private char[] buf = new char[BUFFER_SIZE]; // the input fed, from the current token onwards");
+		out.println("  private long bufOffset; // absolute offset of buf[0] in the input");
+		out.println("  private int tokenStart; // offset in buf of the token being scanned");
+		out.println("  private int pos; // offset in buf of the next character to scan");
+		out.println("  private int limit; // number of characters held in buf");
+		out.println("  private boolean shared; // tokens handed out refer to the buffer, it can't be compacted in place");
+		out.println("  private boolean ended; // endOfInput() was called");
+		out.println();
+		
+		out.println("  // the scan of the current token, kept from one chunk to the next");
+		out.println("  private int state, acceptState = NO_STATE, acceptEnd;");
+		out.println();
+		
+		out.println("  private int line = 1; // line number at the absolute offset lineCounted");
+		out.println("  private long lineStart; // absolute offset of the start of that line");
+		out.println("  private long lineCounted; // absolute offset up to which lines have been counted");
+		out.println("  private char lastCounted; // the last character counted, to join \\r\\n");
+		out.println();
+		
+		out.println("  private CharsetDecoder decoder; // for bytes fed, created with the first of them");
+		out.println("  private ByteBuffer bytes; // bytes of a character going over the end of a chunk");
+		out.println();
+		
+		out.println("  public " + classname + " (Consumer<? super " + tokclass + "> handler) {");
+		out.println("    this.handler = handler;");
+		out.println("  } // end constructor");
+		out.println();
+		
+		out.println("  public void feed(char[] chunk, int offset, int length) throws " + exception + " {");
+		out.println("    reserve(length);");
+		out.println("    System.arraycopy(chunk, offset, buf, limit, length);");
+		out.println("    limit += length;");
+		out.println("    scan(false);");
+		out.println("  }");
+		out.println();
+		
+		out.println("  public void feed(CharBuffer chunk) throws " + exception + " {");
+		out.println("    int length = chunk.remaining();");
+		out.println("    reserve(length);");
+		out.println("    chunk.get(buf, limit, length);");
+		out.println("    limit += length;");
+		out.println("    scan(false);");
+		out.println("  }");
+		out.println();
+		
+		out.println("  // UTF-8, malformed input is replaced as by an InputStreamReader");
+		out.println("  public void feed(ByteBuffer chunk) throws " + exception + " {");
+		out.println("    if (decoder == null) {");
+		out.println("      decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);");
+		out.println("      bytes = ByteBuffer.allocate(8);");
+		out.println("    }");
+		out.println("    // complete the character left over from the last chunk a byte at a time, the rest is decoded straight from the chunk");
+		out.println("    while (bytes.position() > 0 && chunk.hasRemaining()) {");
+		out.println("      bytes.put(chunk.get());");
+		out.println("      bytes.flip();");
+		out.println("      decode(bytes, false);");
+		out.println("      bytes.compact();");
+		out.println("    }");
+		out.println("    decode(chunk, false);");
+		out.println("    bytes.put(chunk); // less than a character is left");
+		out.println("    scan(false);");
+		out.println("  } // end feed");
+		out.println();
+		
+		out.println("  // scans the rest of the input, the eof token is handed out last");
+		out.println("  public void endOfInput() throws " + exception + " {");
+		out.println("    if (ended) return;");
+		out.println("    if (decoder != null) {");
+		out.println("      bytes.flip();");
+		out.println("      decode(bytes, true);");
+		out.println("      reserve(1);");
+		out.println("      CharBuffer chars = CharBuffer.wrap(buf, limit, buf.length - limit);");
+		out.println("      decoder.flush(chars);");
+		out.println("      limit = chars.position();");
+		out.println("    }");
+		out.println("    ended = true;");
+		out.println("    scan(true);");
+		out.println("    countLines(pos);");
+		out.println("    handler.accept(new " + tokclass + "(" + tokenizername + ".EOF_TOKEN, \"eof\", \"\", line, (int)(bufOffset + pos - lineStart) + 1, bufOffset + pos));");
+		out.println("  } // end endOfInput");
+		out.println();
+		
+		out.println("  private void decode(ByteBuffer in, boolean endOfInput) {");
+		out.println("    reserve(in.remaining() + 1); // no more characters than bytes, but a replaced byte left over may add one");
+		out.println("    CharBuffer chars = CharBuffer.wrap(buf, limit, buf.length - limit);");
+		out.println("    decoder.decode(in, chars, endOfInput);");
+		out.println("    limit = chars.position();");
+		out.println("  }");
+		out.println();
+		
+		String keyword = (keywords.isEmpty() ? null : "if (" + TokenizerClassCreator.keywordCondition(keywords, tokenizername + ".") + ") type = keyword(type, b, tokenStart, acceptEnd - tokenStart);");
+		
+		out.println("  // scan the characters fed, handing out each token once the DFA stops past it, the current token's scan");
+		out.println("  // is kept when the characters run out, unless it is the end of input");
+		out.println("  private void scan(boolean endOfInput) throws " + exception + " {");
+		out.println("    if (ended && !endOfInput) {");
+		out.println("      throw new " + exception + "(\"Input fed after its end.\");");
+		out.println("    }");
+		out.println("    char[] b = buf;");
+		out.println("    int p = pos, lim = limit, next;");
+		out.println();
+		out.println("    while (true) {");
+		out.println("      if (p < lim) {");
+		out.println("        next = " + tokenizername + ".step(state, b[p]);");
+		out.println("        if (next != NO_STATE) {");
+		out.println("          state = next;");
+		out.println("          p++;");
+		out.println("          if (" + tokenizername + ".accepts(state) != NOT_ACCEPTING) {");
+		out.println("            acceptState = state;");
+		out.println("            acceptEnd = p;");
+		out.println("          }");
+		out.println("          continue;");
+		out.println("        }");
+		out.println("      } else if (!endOfInput || p == tokenStart) {");
+		out.println("        break;");
+		out.println("      }");
+		out.println();
+		out.println("      // the DFA stopped at p");
+		out.println("      if (acceptState == NO_STATE) {");
+		out.println("        countLines(tokenStart);");
+		out.println("        throw new " + prefix + "NoSuchTokenException(new String(b, tokenStart, Math.min(p + 1, lim) - tokenStart), line, (int)(bufOffset + tokenStart - lineStart) + 1);");
+		out.println("      }");
+		out.println("      int type = " + tokenizername + ".accepts(acceptState);");
+		out.println("      if (type != SKIP) {");
+		if (keyword != null) {
+			out.println("        " + keyword);
+		}
+		out.println("        countLines(tokenStart);");
+		out.println("        shared = true;");
+		out.println("        handler.accept(new " + tokclass + "(type, " + tokenizername + ".tokenName(type), b, tokenStart, acceptEnd - tokenStart, line, (int)(bufOffset + tokenStart - lineStart) + 1, bufOffset + tokenStart));");
+		out.println("      }");
+		out.println("      p = tokenStart = acceptEnd;");
+		out.println("      state = 0;");
+		out.println("      acceptState = NO_STATE;");
+		out.println("    }");
+		out.println("    pos = p;");
+		out.println("  } // end scan");
+		out.println();
+		
+		out.println("  private void countLines(int to) {");
+		out.println("    for (int i = (int)(lineCounted - bufOffset); i < to; i++) {");
+		out.println("      char c = buf[i];");
+		out.println("      if (c == '\\n' || c == '\\r') {");
+		out.println("        if (c == '\\r' || lastCounted != '\\r') line++;");
+		out.println("        lineStart = bufOffset + i + 1;");
+		out.println("      }");
+		out.println("      lastCounted = c;");
+		out.println("    }");
+		out.println("    if (bufOffset + to > lineCounted) lineCounted = bufOffset + to;");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  // make room for length more characters in the buffer");
+		out.println("  private void reserve(int length) {");
+		out.println("    if (limit + length <= buf.length) return;");
+		out.println("    // characters before the current token are no longer needed, once their lines are counted");
+		out.println("    countLines(tokenStart);");
+		out.println("    char[] from = buf;");
+		out.println("    int size = limit - tokenStart;");
+		out.println("    if (size + length > buf.length) {");
+		out.println("      buf = new char[Math.max(buf.length * 2, size + length)];");
+		out.println("    } else if (shared) {");
+		out.println("      // tokens handed out still refer to the buffer, leave it to them");
+		out.println("      buf = new char[buf.length];");
+		out.println("    }");
+		out.println("    shared = false;");
+		out.println("    System.arraycopy(from, tokenStart, buf, 0, size);");
+		out.println("    bufOffset += tokenStart;");
+		out.println("    pos -= tokenStart;");
+		out.println("    acceptEnd -= tokenStart;");
+		out.println("    limit = size;");
+		out.println("    tokenStart = 0;");
+		out.println("  } // end reserve");
+		out.println();
+		
+		if (keyword != null) {
+			TokenizerClassCreator.outputKeywordFunction(out, tokenizername + ".", "char[]", "text[%s]");
+		}
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+}
@@ -14,7 +14,7 @@
  *  
  *  SiCC is invoked with the following options
  * 
- *  	SiCC [--package packagename] [--prefix prefixname] <definitions>
+ *  	SiCC [--package packagename] [--prefix prefixname] [--tokenizer-mode mode] [--mapped-tokenizer] [--byte-tokenizer] [--parallel-tokenizer] [--incremental-tokenizer] [--push-tokenizer] [--vector-scanning] [--intern tokens] <definitions>
  *  
  *  where
  *  
@@ -29,6 +29,30 @@
  *  	--prefix			Defines a prefix that is to be added to the beginning of all generated
  *  						classes. ex: A prefix of "BOB" would turn "Tokenizer" into "BOBTokenizer"
  *  
+ *  	--tokenizer-mode	How the tokenizer's DFA is coded, either "table" (the default) for transition
+ *  						tables or "switch" for direct code with a switch statement per state
+ *  
+ *  	--mapped-tokenizer	Also generate a MappedTokenizer, which reads a file through a memory mapping
+ *  						rather than a Reader, taking each byte as a character (ISO-8859-1)
+ *  
+ *  	--byte-tokenizer	Also generate a ByteTokenizer, whose DFA runs over the UTF-8 bytes of a byte array,
+ *  						ByteBuffer or InputStream so the input is never decoded
+ *  
+ *  	--parallel-tokenizer	Also generate a ParallelTokenizer, which tokenizes a whole input held in memory into
+ *  						a TokenBuffer, in chunks lexed on a fork-join pool
+ *  
+ *  	--incremental-tokenizer	Also generate an IncrementalTokenizer, which tokenizes a document held in memory into a
+ *  						TokenBuffer, then after each edit relexes only the tokens the edit changed
+ *  
+ *  	--push-tokenizer	Also generate a PushTokenizer, which is fed its input in chunks (never blocking on a Reader)
+ *  						and hands the tokens completed to a callback
+ *  
+ *  	--vector-scanning	Also generate a VectorScanner, through which the tokenizer runs over long runs of characters
+ *  						with the Vector API (compile and run with --add-modules jdk.incubator.vector)
+ *  
+ *  	--intern			A comma separated list of tokens (such as identifiers) whose values the tokenizer
+ *  						interns in a symbol table, tokens then carry the symbol's ID and its unique String
+ *  
  *  	--tokenizer-only	Only generate a tokenizer based on tokendef
  *  
  *   	--parser-only		Only generate a parser based on grammardef
@@ -48,6 +72,7 @@
  */
 
 import java.io.*;
+import java.util.ArrayList;
 
 /**
  * Simple Compiler Compiler
@@ -82,6 +107,46 @@ public class SiCC {
 	 */
 	private String packagename = "";
 	
+	/**
+	 *  How the tokenizer's DFA is coded, see TokenizerClassCreator for values
+	 */
+	private int tokenizerMode = TokenizerClassCreator.TABLE_MODE;
+	
+	/**
+	 *  Whether to also create the MappedTokenizer, which reads files through a memory mapping
+	 */
+	private boolean mappedTokenizer = false;
+	
+	/**
+	 *  Whether to also create the ByteTokenizer, which runs over UTF-8 bytes
+	 */
+	private boolean byteTokenizer = false;
+	
+	/**
+	 *  Names of the tokens whose values the tokenizer interns in a symbol table
+	 */
+	private ArrayList<String> internedTokens = new ArrayList<String>();
+	
+	/**
+	 *  Whether to generate a ParallelTokenizer
+	 */
+	private boolean parallelTokenizer = false;
+	
+	/**
+	 *  Whether to generate an IncrementalTokenizer
+	 */
+	private boolean incrementalTokenizer = false;
+	
+	/**
+	 *  Whether to generate a PushTokenizer
+	 */
+	private boolean pushTokenizer = false;
+	
+	/**
+	 *  Whether to generate a VectorScanner for the tokenizer's self-looping states
+	 */
+	private boolean vectorScanning = false;
+	
 	/**
 	 *  File objects created by file names passed by the arguments
 	 */
@@ -142,6 +207,13 @@ public class SiCC {
 			if (tokenFile == null) throw new ArgumentParsingException("Missing token definition file!");
 			if (!tokenFile.isFile()) throw new ArgumentParsingException (tokenFile + " is not a valid file!");
 			tokendef = new TokenizerDefinition(new FileReader(tokenFile));
+			
+			for (String name : internedTokens) {
+				TokenDFA tdfa = tokendef.getTokenDFA(name);
+				if (tdfa == null || tdfa.isInternal() || name.equals("skip")) {
+					throw new ArgumentParsingException("Cannot intern \"" + name + "\", it is not a token of " + tokenFile);
+				}
+			}
 		}
 
 		// create a grammar definition object if not "tokenizer only" and if the definition file is valid		
@@ -214,6 +286,71 @@ public class SiCC {
 						throw new ArgumentParsingException("Invalid prefix: " + prefix);
 					}
 					
+				}
+				else if (args[i].equals("--tokenizer-mode")) {
+					// set the tokenizer mode to the next argument
+					
+					if (i == args.length-1) { // end of arguments
+						throw new ArgumentParsingException("Tokenizer mode not defined.");
+					}
+					
+					String mode = args[++i];
+					
+					if (mode.equals("table")) {
+						tokenizerMode = TokenizerClassCreator.TABLE_MODE;
+					}
+					else if (mode.equals("switch")) {
+						tokenizerMode = TokenizerClassCreator.SWITCH_MODE;
+					}
+					else {
+						throw new ArgumentParsingException("Invalid tokenizer mode, must be \"table\" or \"switch\": \"" + mode + "\"");
+					}
+					
+				}
+				else if (args[i].equals("--mapped-tokenizer")) {
+					
+					mappedTokenizer = true;
+					
+				}
+				else if (args[i].equals("--byte-tokenizer")) {
+					
+					byteTokenizer = true;
+					
+				}
+				else if (args[i].equals("--parallel-tokenizer")) {
+					
+					parallelTokenizer = true;
+					
+				}
+				else if (args[i].equals("--incremental-tokenizer")) {
+					
+					incrementalTokenizer = true;
+					
+				}
+				else if (args[i].equals("--push-tokenizer")) {
+					
+					pushTokenizer = true;
+					
+				}
+				else if (args[i].equals("--vector-scanning")) {
+					
+					vectorScanning = true;
+					
+				}
+				else if (args[i].equals("--intern")) {
+					// set the interned tokens to the next argument, a comma separated list of token names
+					
+					if (i == args.length-1) { // end of arguments
+						throw new ArgumentParsingException("Interned tokens not defined.");
+					}
+					
+					for (String name : args[++i].split(",")) {
+						if (!name.matches("[a-zA-Z]\\w*")) {
+							throw new ArgumentParsingException("Invalid token name to intern: \"" + name + "\"");
+						}
+						internedTokens.add(name);
+					}
+					
 				}
 				else {
 					
@@ -272,11 +409,42 @@ public class SiCC {
 		createTokenClass();
 		createTokenizerInterface();
 		createTokenizerExceptionClass();
+		createUncheckedTokenizerExceptionClass();
+		createTokenSpliteratorClass();
 		
 		// create Tokenizer if token definition is set
 		if (tokendef != null) {
 			createTokenizerClass();
 			createNoSuchTokenExceptionClass();
+			createTokenBufferClass();
+			
+			if (!internedTokens.isEmpty()) {
+				createSymbolTableClass();
+			}
+			
+			if (mappedTokenizer) {
+				createMappedTokenizerClass();
+			}
+			
+			if (parallelTokenizer) {
+				createParallelTokenizerClass();
+			}
+			
+			if (incrementalTokenizer) {
+				createIncrementalTokenizerClass();
+			}
+			
+			if (pushTokenizer) {
+				createPushTokenizerClass();
+			}
+			
+			if (vectorScanning) {
+				createVectorScannerClass();
+			}
+			
+			if (byteTokenizer) {
+				createByteTokenizerClass();
+			}
 		}
 		
 		// create Parser (and others) if grammar definition is set
@@ -285,6 +453,10 @@ public class SiCC {
 			createParserExceptionClass();
 			createVisitorInterface();
 			createASTNodeClasses();
+			
+			if (tokendef != null) {
+				createParserPoolClass();
+			}
 		}
 	}
 	
@@ -294,7 +466,55 @@ public class SiCC {
 	private void createTokenizerClass() throws IOException {
 		PrintWriter out = getWriter(prefix + "Tokenizer.java");
 		
-		new TokenizerClassCreator(prefix, tokendef).output(out);
+		new TokenizerClassCreator(prefix, tokendef, tokenizerMode, internedTokens, vectorScanning).output(out);
+		
+		out.close();
+	}
+	
+	private void createMappedTokenizerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "MappedTokenizer.java");
+		
+		new MappedTokenizerClassCreator(prefix, tokendef).output(out);
+		
+		out.close();
+	}
+	
+	private void createParallelTokenizerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "ParallelTokenizer.java");
+		
+		new ParallelTokenizerClassCreator(prefix, tokendef).output(out);
+		
+		out.close();
+	}
+	
+	private void createIncrementalTokenizerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "IncrementalTokenizer.java");
+		
+		new IncrementalTokenizerClassCreator(prefix, tokendef).output(out);
+		
+		out.close();
+	}
+	
+	private void createPushTokenizerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "PushTokenizer.java");
+		
+		new PushTokenizerClassCreator(prefix, tokendef).output(out);
+		
+		out.close();
+	}
+	
+	private void createVectorScannerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "VectorScanner.java");
+		
+		new VectorScannerClassCreator(prefix, tokendef).output(out);
+		
+		out.close();
+	}
+	
+	private void createByteTokenizerClass() throws IOException {
+		PrintWriter out = getWriter(prefix + "ByteTokenizer.java");
+		
+		new ByteTokenizerClassCreator(prefix, tokendef).output(out);
 		
 		out.close();
 	}
@@ -319,6 +539,24 @@ public class SiCC {
 		out.close();
 	}
 	
+	private void createUncheckedTokenizerExceptionClass() throws IOException {
+		String classname = prefix + "UncheckedTokenizerException";
+		String causeclass = prefix + "TokenizerException";
+		
+		PrintWriter out = getWriter(classname + ".java");
+		
+		out.println("/**");
+		out.println(" * Wraps a " + causeclass + " thrown while tokens are read through a stream");
+		out.println(" */");
+		out.println("public class " + classname + " extends RuntimeException {");
+		out.println("  private static final long serialVersionUID = 1L;");
+		out.println("  public " + classname + " (" + causeclass + " cause) { super(cause); }");
+		out.println("  public " + causeclass + " getCause() { return (" + causeclass + ")super.getCause(); }");
+		out.println("} // end " + classname);
+		
+		out.close();
+	}
+	
 	private void createNoSuchTokenExceptionClass() throws IOException {
 		String classname = prefix + "NoSuchTokenException";
 		String extendsclass = prefix + "TokenizerException";
@@ -346,6 +584,61 @@ public class SiCC {
 		out.close();
 	}
 	
+	/**
+	 * Create ParserPool class, which keeps a tokenizer and a parser per thread to parse input after
+	 * input, resetting them rather than creating new ones
+	 */
+	private void createParserPoolClass() throws IOException {
+		String classname = prefix + "ParserPool";
+		String tokenizerclass = prefix + "Tokenizer";
+		String parserclass = prefix + "Parser";
+		String nodeclass = prefix + "AST" + grammardef.getStartRuleName() + "Node";
+		
+		PrintWriter out = getWriter(classname + ".java");
+		
+		out.println("import java.io.Reader;");
+		out.println("import java.util.function.Function;");
+		out.println();
+		out.println("/**");
+		out.println(" * A tokenizer and a parser kept for each thread, reset for each input parsed");
+		out.println(" */");
+		out.println("public class " + classname + " {");
+		out.println("  private static final ThreadLocal<" + classname + "> pools = ThreadLocal.withInitial(" + classname + "::new);");
+		out.println();
+		out.println("  private " + tokenizerclass + " tokenizer;");
+		out.println("  private " + parserclass + " parser;");
+		out.println("  private boolean busy; // a parse is going on, one started from its handler gets instances of its own");
+		out.println();
+		out.println("  private " + classname + " () {}");
+		out.println();
+		out.println("  // parse the input with this thread's tokenizer and parser, the parse tree is handed to the handler and can be");
+		out.println("  // kept after it returns: when its tokens refer to the tokenizer's buffer, the next input is read into a new one");
+		out.println("  public static <R> R parse(Reader reader, Function<? super " + nodeclass + ", R> handler) throws " + prefix + "ParserException, " + prefix + "TokenizerException {");
+		out.println("    " + classname + " pool = pools.get();");
+		out.println("    if (pool.busy) {");
+		out.println("      return handler.apply(new " + parserclass + "(new " + tokenizerclass + "(reader)).parse());");
+		out.println("    }");
+		out.println("    pool.busy = true;");
+		out.println("    try {");
+		out.println("      if (pool.tokenizer == null) {");
+		out.println("        pool.tokenizer = new " + tokenizerclass + "(reader);");
+		out.println("        pool.parser = new " + parserclass + "(pool.tokenizer);");
+		out.println("      } else {");
+		out.println("        pool.tokenizer.reset(reader);");
+		out.println("        pool.parser.reset(pool.tokenizer);");
+		out.println("      }");
+		out.println("      return handler.apply(pool.parser.parse());");
+		out.println("    }");
+		out.println("    finally {");
+		out.println("      pool.tokenizer.reset(null); // let go of the reader");
+		out.println("      pool.busy = false;");
+		out.println("    }");
+		out.println("  } // end parse");
+		out.println("} // end " + classname);
+		
+		out.close();
+	}
+	
 	private void createParserExceptionClass() throws IOException {
 		String classname = prefix + "ParserException";
 		
@@ -365,6 +658,205 @@ public class SiCC {
 		out.close();
 	}
 	
+	/**
+	 * Create TokenBuffer class
+	 */
+	private void createTokenBufferClass() throws IOException {
+		String classname = prefix + "TokenBuffer";
+		
+		PrintWriter out = getWriter(classname + ".java");
+		
+		out.println("/**");
+		out.println(" * Tokens read in bulk by the tokenizer's fill(), held in parallel arrays rather than as Token objects");
+		out.println(" */");
+		out.println("public class " + classname + " {");
+		out.println("  public final int[] type; // token types, see the Tokenizer's constants");
+		out.println("  public final long[] start, end; // offsets of the first character of the tokens and of the one that follows them");
+		out.println("  public final int[] line, column;");
+		out.println("  public final int[] symbol; // symbol IDs of interned tokens, -1 for the others");
+		if (incrementalTokenizer) {
+			out.println("  public long[] reach; // offsets following the furthest character looked at up to each token, only kept by the IncrementalTokenizer");
+		}
+		out.println("  public int size; // number of tokens held");
+		out.println("  public " + classname + " (int capacity) { type = new int[capacity]; start = new long[capacity]; end = new long[capacity]; line = new int[capacity]; column = new int[capacity]; symbol = new int[capacity]; }");
+		out.println("  public int capacity() { return type.length; }");
+		out.println("  public String toString(int i) { return \"(\" + line[i] + \") \" + type[i] + \" [\" + start[i] + \", \" + end[i] + \")\"; }");
+		out.println("} // end " + classname);
+		
+		out.close();
+	}
+	
+	/**
+	 * Create SymbolTable class, used by the tokenizer to intern token values
+	 * 
+	 * Symbols are looked up straight from the tokenizer's buffer, in an open addressing table
+	 * (with linear probing), so a value seen before costs no allocation.
+	 */
+	private void createSymbolTableClass() throws IOException {
+		String classname = prefix + "SymbolTable";
+		
+		PrintWriter out = getWriter(classname + ".java");
+		
+		out.println("import java.util.Arrays;");
+		out.println();
+		out.println("/**");
+		out.println(" * Interned token values, each with a dense ID (from 0 in order of appearance)");
+		out.println(" */");
+		out.println("public class " + classname + " {");
+		out.println("  private String[] symbols = new String[64]; // by ID");
+		out.println("  private int[] hashes = new int[64]; // hash of each symbol, by ID");
+		out.println("  private int[] slots = new int[128]; // ID + 1 of the symbol in each slot, 0 for free slots");
+		out.println("  private int size;");
+		out.println();
+		out.println("  public int intern(char[] text, int start, int length) {");
+		out.println("    int hash = 0;");
+		out.println("    for (int i = start; i < start + length; i++) hash = 31 * hash + text[i];");
+		out.println("    int mask = slots.length - 1;");
+		out.println("    for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {");
+		out.println("      int id = slots[slot] - 1;");
+		out.println("      if (id < 0) return add(new String(text, start, length), hash, slot);");
+		out.println("      if (hashes[id] == hash && matches(symbols[id], text, start, length)) return id;");
+		out.println("    }");
+		out.println("  } // end intern");
+		out.println();
+		out.println("  public int intern(String str) { return intern(str.toCharArray(), 0, str.length()); }");
+		out.println("  public String get(int id) { return symbols[id]; }");
+		out.println("  public int size() { return size; }");
+		out.println();
+		out.println("  private static boolean matches(String symbol, char[] text, int start, int length) {");
+		out.println("    if (symbol.length() != length) return false;");
+		out.println("    for (int i = 0; i < length; i++) if (symbol.charAt(i) != text[start + i]) return false;");
+		out.println("    return true;");
+		out.println("  }");
+		out.println();
+		out.println("  // spread the hash over the low bits used as the slot");
+		out.println("  private static int mix(int hash) { hash *= 0x9e3779b9; return hash ^ (hash >>> 16); }");
+		out.println();
+		out.println("  private int add(String symbol, int hash, int slot) {");
+		out.println("    if (size == symbols.length) {");
+		out.println("      symbols = Arrays.copyOf(symbols, size * 2);");
+		out.println("      hashes = Arrays.copyOf(hashes, size * 2);");
+		out.println("    }");
+		out.println("    symbols[size] = symbol;");
+		out.println("    hashes[size] = hash;");
+		out.println("    slots[slot] = ++size;");
+		out.println("    if (size * 2 > slots.length) rehash(); // keep the table at most half full");
+		out.println("    return size - 1;");
+		out.println("  } // end add");
+		out.println();
+		out.println("  private void rehash() {");
+		out.println("    slots = new int[slots.length * 2];");
+		out.println("    int mask = slots.length - 1;");
+		out.println("    for (int id = 0; id < size; id++) {");
+		out.println("      int slot = mix(hashes[id]) & mask;");
+		out.println("      while (slots[slot] != 0) slot = (slot + 1) & mask;");
+		out.println("      slots[slot] = id + 1;");
+		out.println("    }");
+		out.println("  } // end rehash");
+		out.println("} // end " + classname);
+		
+		out.close();
+	}
+	
+	/**
+	 * Create TokenSpliterator class, behind the token streams
+	 * 
+	 * Tokens are read from one tokenizer after another, those of a list of sources (each opened
+	 * when reached, and closed at its end). A split hands out half of the sources, down to a single
+	 * one whose tokens are then handed out in batches.
+	 */
+	private void createTokenSpliteratorClass() throws IOException {
+		String classname = prefix + "TokenSpliterator";
+		String tokclass = prefix + "Token";
+		String interfacename = prefix + "iTokenizer";
+		
+		PrintWriter out = getWriter(classname + ".java");
+		
+		out.println("import java.util.Collections;");
+		out.println("import java.util.List;");
+		out.println("import java.util.Spliterator;");
+		out.println("import java.util.Spliterators;");
+		out.println("import java.util.concurrent.Callable;");
+		out.println("import java.util.function.Consumer;");
+		out.println();
+		out.println("/**");
+		out.println(" * The tokens of one tokenizer, or of a list of sources one after the other, up to the eof tokens (left out)");
+		out.println(" */");
+		out.println("public class " + classname + " extends Spliterators.AbstractSpliterator<" + tokclass + "> {");
+		out.println("  private final List<? extends Callable<? extends " + interfacename + ">> sources; // opened in turn, those from index to end are left");
+		out.println("  private int index, end;");
+		out.println("  private " + interfacename + " current; // the tokenizer being read, null between sources");
+		out.println("  private boolean opened; // current was opened from a source, and is closed at its end");
+		out.println();
+		out.println("  public " + classname + " (" + interfacename + " tokenizer) { this(Collections.<Callable<" + interfacename + ">>emptyList(), 0, 0); current = tokenizer; }");
+		out.println("  public " + classname + " (List<? extends Callable<? extends " + interfacename + ">> sources) { this(sources, 0, sources.size()); }");
+		out.println();
+		out.println("  private " + classname + " (List<? extends Callable<? extends " + interfacename + ">> sources, int index, int end) {");
+		out.println("    super(Long.MAX_VALUE, ORDERED | NONNULL);");
+		out.println("    this.sources = sources;");
+		out.println("    this.index = index;");
+		out.println("    this.end = end;");
+		out.println("  }");
+		out.println();
+		out.println("  public boolean tryAdvance(Consumer<? super " + tokclass + "> action) {");
+		out.println("    while (true) {");
+		out.println("      if (current == null) {");
+		out.println("        if (index == end) return false;");
+		out.println("        try {");
+		out.println("          current = sources.get(index++).call();");
+		out.println("        }");
+		out.println("        catch (RuntimeException ex) {");
+		out.println("          throw ex;");
+		out.println("        }");
+		out.println("        catch (Exception ex) {");
+		out.println("          throw new " + prefix + "UncheckedTokenizerException(new " + prefix + "TokenizerException(ex));");
+		out.println("        }");
+		out.println("        opened = true;");
+		out.println("      }");
+		out.println("      " + tokclass + " token;");
+		out.println("      try {");
+		out.println("        token = current.nextToken();");
+		out.println("      }");
+		out.println("      catch (" + prefix + "TokenizerException ex) {");
+		out.println("        throw new " + prefix + "UncheckedTokenizerException(ex);");
+		out.println("      }");
+		out.println("      if (!token.is(\"eof\")) {");
+		out.println("        action.accept(token);");
+		out.println("        return true;");
+		out.println("      }");
+		out.println("      close();");
+		out.println("    }");
+		out.println("  } // end tryAdvance");
+		out.println();
+		out.println("  // the first half of the sources left, the one being read among them, or else a batch of its tokens");
+		out.println("  public Spliterator<" + tokclass + "> trySplit() {");
+		out.println("    int left = end - index + (current != null ? 1 : 0);");
+		out.println("    if (left < 2) return super.trySplit();");
+		out.println("    int middle = index + left / 2 - (current != null ? 1 : 0);");
+		out.println("    " + classname + " prefix = new " + classname + "(sources, index, middle);");
+		out.println("    prefix.current = current;");
+		out.println("    prefix.opened = opened;");
+		out.println("    current = null;");
+		out.println("    index = middle;");
+		out.println("    return prefix;");
+		out.println("  } // end trySplit");
+		out.println();
+		out.println("  private void close() {");
+		out.println("    if (opened && current instanceof AutoCloseable) {");
+		out.println("      try {");
+		out.println("        ((AutoCloseable)current).close();");
+		out.println("      }");
+		out.println("      catch (Exception ex) {");
+		out.println("        throw new " + prefix + "UncheckedTokenizerException(new " + prefix + "TokenizerException(ex));");
+		out.println("      }");
+		out.println("    }");
+		out.println("    current = null;");
+		out.println("  } // end close");
+		out.println("} // end " + classname);
+		
+		out.close();
+	}
+	
 	/**
 	 * Create Token class
 	 */
@@ -373,12 +865,27 @@ public class SiCC {
 		
 		PrintWriter out = getWriter(classname + ".java");
 		
+		out.println("import java.nio.ByteBuffer;");
+		out.println("import java.nio.CharBuffer;");
+		out.println("import java.nio.charset.StandardCharsets;");
+		out.println();
 		out.println("/**");
 		out.println(" * A token returned by the tokenizer");
+		out.println(" *");
+		out.println(" * Tokens from the tokenizer refer to their text in the tokenizer's input buffer,");
+		out.println(" * the value is only created when it is first asked for.");
 		out.println(" */");
 		out.println("public class " + classname + " {");
 		out.println("  public int line = -1, column = -1, type = 0;");
-		out.println("  public String name, value;");
+		out.println("  public long offset = -1; // offset of the token's first character in the input");
+		out.println("  public int symbol = -1; // ID of the value in the tokenizer's symbol table, for interned tokens");
+		out.println("  public String name;");
+		out.println("  private String value;");
+		out.println("  private Object text; // where the value is until it is created, a char[], a byte[] of UTF-8 or a ByteBuffer of ISO-8859-1");
+		out.println("  private int textStart, textLength;");
+		out.println("  public " + classname + " (int t, String n, Object text, int start, int length, int l, int c, long o) { type=t; name=n; this.text=text; textStart=start; textLength=length; line=l; column=c; offset=o; }");
+		out.println("  public " + classname + " (int t, String n, String v, int s, int l, int c, long o) { type=t; name=n; value=v; symbol=s; line=l; column=c; offset=o; }");
+		out.println("  public " + classname + " (int t, String n, String v, int l, int c, long o) { type=t; name=n; value=v; line=l; column=c; offset=o; }");
 		out.println("  public " + classname + " (int t, String n, String v, int l, int c) { type=t; name=n; value=v; line=l; column=c; }");
 		out.println("  public " + classname + " (int t, String n, String v, int l) { type=t; name=n; value=v; line=l; }");
 		out.println("  public " + classname + " (int t, String n, String v) { type=t; name=n; value=v; }");
@@ -386,7 +893,34 @@ public class SiCC {
 		out.println("  public " + classname + " (String n, String v, int l) { name=n; value=v; line=l; }");
 		out.println("  public " + classname + " (String n, String v) { name=n; value=v; }");
 		out.println("  public " + classname + " (String n) { name=n; }");
-		out.println("  public String toString() { return (line != -1 ? \"(\" + line + \") \" : \"\") + name + (value != null ? \" => \" + value : \"\"); }");
+		out.println("  public String getValue() {");
+		out.println("    if (value == null && text != null) {");
+		out.println("      if (text instanceof char[]) {");
+		out.println("        value = new String((char[])text, textStart, textLength);");
+		out.println("      } else if (text instanceof byte[]) {");
+		out.println("        value = new String((byte[])text, textStart, textLength, StandardCharsets.UTF_8);");
+		out.println("      } else {");
+		out.println("        byte[] bytes = new byte[textLength];");
+		out.println("        ByteBuffer buffer = ((ByteBuffer)text).duplicate();");
+		out.println("        buffer.position(textStart);");
+		out.println("        buffer.get(bytes);");
+		out.println("        value = new String(bytes, StandardCharsets.ISO_8859_1);");
+		out.println("      }");
+		out.println("      text = null;");
+		out.println("    }");
+		out.println("    return value;");
+		out.println("  }");
+		out.println("  // a view of the value, not copied from the tokenizer's buffer when it can be avoided");
+		out.println("  public CharSequence getText() { return (text instanceof char[] ? CharBuffer.wrap((char[])text, textStart, textLength).asReadOnlyBuffer() : getValue()); }");
+		out.println("  // whether the value is the given string, without creating the value when it can be avoided");
+		out.println("  public boolean hasValue(CharSequence str) {");
+		out.println("    if (!(text instanceof char[])) return str.toString().equals(getValue());");
+		out.println("    if (str.length() != textLength) return false;");
+		out.println("    char[] chars = (char[])text;");
+		out.println("    for (int i = 0; i < textLength; i++) if (chars[textStart + i] != str.charAt(i)) return false;");
+		out.println("    return true;");
+		out.println("  }");
+		out.println("  public String toString() { return (line != -1 ? \"(\" + line + \") \" : \"\") + name + (getValue() != null ? \" => \" + getValue() : \"\"); }");
 		out.println("  public boolean is (String str) { return str.equals(name); }");
 		out.println("} // end " + classname);
 		
@@ -439,10 +973,19 @@ public class SiCC {
 		
 		PrintWriter out = getWriter(interfacename + ".java");
 		
+		out.println("import java.util.stream.IntStream;");
+		out.println("import java.util.stream.Stream;");
+		out.println("import java.util.stream.StreamSupport;");
+		out.println();
+		
 		out.println("public interface " + interfacename + "{");
 		
 		out.println("  public " + tokenclassname + " nextToken() throws " + exceptionname + ";");
 		
+		out.println("  // the tokens up to the eof token (left out), read as the stream goes, errors are thrown as " + prefix + "UncheckedTokenizerException");
+		out.println("  public default Stream<" + tokenclassname + "> tokens() { return StreamSupport.stream(new " + prefix + "TokenSpliterator(this), false); }");
+		out.println("  public default IntStream tokenTypes() { return tokens().mapToInt(token -> token.type); }");
+		
 		out.println("} // end " + interfacename);
 		
 		out.close();
@@ -484,7 +1027,7 @@ public class SiCC {
 		out.println("  public String getValue() { return value; }"); out.println();
 		out.println("  public " + prefix + "ASTNode getParent() { return parent; }"); out.println();
 		out.println("  public <X,Y> X accept(" + visitorname + " visitor, Y data) { return visitor.visit(this, data); }"); out.println();
-		out.println("  public String toString() { if (value == null || value.isEmpty()) { return name; } else { return name + \" => \" + value; } }"); out.println();
+		out.println("  public String toString() { String value = getValue(); if (value == null || value.isEmpty()) { return name; } else { return name + \" => \" + value; } }"); out.println();
 		out.println("} // end " + classname);
 		
 		out.close();
@@ -525,7 +1068,11 @@ public class SiCC {
 		out = getWriter(classname + ".java");
 		
 		out.println("public class " + classname + " extends " + extendname + " {");
+		out.println("  private " + prefix + "Token token; // the value is read from the token, only when asked for");
+		out.println("  public " + classname + " (" + prefix + "Token t) { super(t.name,null,false); token=t; }" );
 		out.println("  public " + classname + " (String n, String v) { super(n,v,false); }" );
+		out.println("  public " + prefix + "Token getToken() { return token; }" );
+		out.println("  public String getValue() { return (token != null ? token.getValue() : super.getValue()); }" );
 		out.println("  public <X,Y> X accept(" + visitorname + " visitor, Y data) { return visitor.visit(this, data); }"); out.println();
 		out.println("}");
 		
@@ -1,9 +1,13 @@
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * TokenDFA represents a token definition with a DFA
@@ -43,6 +47,11 @@ public class TokenDFA {
 	 */
 	boolean internal;
 	
+	/**
+	 * Name of the token this keyword is reclassified from, null if the token isn't a keyword
+	 */
+	String keywordBase;
+	
 	/**
 	 * Stacks used to build the NFA
 	 */
@@ -55,6 +64,39 @@ public class TokenDFA {
 	StateGraph<TokenizerNFAState> NFA; // intermediate NFA
 	StateGraph<TokenizerDFAState> DFA; // resulting DFA
 	
+	/**
+	 * While converting to a DFA, the index of each NFA state seen (by identity, as IDs are reset
+	 * for each graph and the master NFA holds states of many), the states by index, and the
+	 * epsilon closure of each state by index (null until needed)
+	 */
+	private HashMap<TokenizerNFAState, Integer> NFAIndex;
+	private ArrayList<TokenizerNFAState> NFAStates;
+	private ArrayList<BitSet> closures;
+	
+	/**
+	 * A set of NFA states as the key of a DFA state. BitSet's own hash code, like Arrays',
+	 * folds the high half of each word onto the low half with xor, which collides too often
+	 * for the sets of a large DFA, so the words are mixed with a multiplication instead
+	 */
+	private static class NFASet {
+		private final long[] words;
+		private final int hash;
+		
+		NFASet(BitSet set) {
+			words = set.toLongArray();
+			
+			long h = 0;
+			for (long w : words) h = (h + w) * 0x9E3779B97F4A7C15L;
+			hash = (int)(h >>> 32);
+		}
+		
+		public int hashCode() { return hash; }
+		
+		public boolean equals(Object o) {
+			return o instanceof NFASet && Arrays.equals(words, ((NFASet)o).words);
+		}
+	}
+	
 	/**
 	 * Constructor. Simply takes a name and an NFA, and converts it to a DFA.
 	 */
@@ -206,7 +248,7 @@ public class TokenDFA {
 						throw new TokenizerDefinitionException("Character class has not been opened with [");
 					}
 					
-					if (operandStack.peek().start().getTransitionCharacters().isEmpty()) {
+					if (!operandStack.peek().start().hasTransitions()) {
 						throw new TokenizerDefinitionException("Character classes cannot be empty");
 					}
 					
@@ -240,7 +282,7 @@ public class TokenDFA {
 					}
 						
 					// operator needs to be defined before any literals in the character class 
-					if (!operandStack.peek().start().getTransitionCharacters().isEmpty()) {
+					if (operandStack.peek().start().hasTransitions()) {
 						throw new TokenizerDefinitionException("Character class negation operator ^ needs to be first after opening [, or escaped if literal");
 					}
 					
@@ -261,6 +303,9 @@ public class TokenDFA {
 				
 			} else { // operand
 				
+				// the range of characters matched
+				char first, last;
+				
 				// first step, deal with special characters
 				if (c == '\\') {
 					// escaped character
@@ -280,16 +325,22 @@ public class TokenDFA {
 						default: if (!isOperator(c)) throw new TokenizerDefinitionException("Invalid escaping of character " + c);
 					}
 					
+					first = last = c;
 				}
 				else if (c == '.') {
-					c = TokenizerState.wildcard;
+					// the wildcard matches any character
+					first = Character.MIN_VALUE;
+					last = Character.MAX_VALUE;
+				}
+				else {
+					first = last = c;
 				}
 				
 				// second step, add to appropriate place
 				if (charclass) {
-					addToCharClass(c);
+					addToCharClass(first, last);
 				} else {				
-					pushOperand(c);
+					pushOperand(first, last);
 				}
 				
 			}
@@ -331,6 +382,44 @@ public class TokenDFA {
 		NFA.end().setAccepting(true);
 	}
 	
+	/**
+	 * Returns all the strings matched by this DFA, or null if there are infinitely many
+	 * (the DFA loops) or too many (it has a wildcard or negated class transition)
+	 */
+	public ArrayList<String> getStrings() {
+		ArrayList<String> strings = new ArrayList<String>();
+		
+		if (!collectStrings(DFA.start(), "", new ArrayList<TokenizerDFAState>(), strings)) return null;
+		
+		return strings;
+	}
+	
+	/**
+	 * Collect the strings matched from the given state, whose path from the start state
+	 * is given, returns false on a loop or a wildcard or negated class
+	 */
+	private boolean collectStrings(TokenizerDFAState state, String prefix, ArrayList<TokenizerDFAState> path, ArrayList<String> strings) {
+		
+		if (path.contains(state)) return false;
+		
+		if (state.isAccepting()) strings.add(prefix);
+		
+		path.add(state);
+		
+		for (TokenizerTransition<TokenizerDFAState> trans : state.getTransitions()) {
+			// a range up to the last character comes from a wildcard or a negated class
+			if (trans.last == Character.MAX_VALUE) return false;
+			
+			for (char c = trans.first; c <= trans.last; c++) {
+				if (!collectStrings(trans.target, prefix + c, path, strings)) return false;
+			}
+		}
+		
+		path.remove(path.size() - 1);
+		
+		return true;
+	}
+	
 	/**
 	 * Convert the intermediate NFA to a DFA 
 	 */
@@ -344,66 +433,294 @@ public class TokenDFA {
 		// reset auto state id
 		TokenizerState.resetNextID();
 		
-		// the state we are currently processing
-		TokenizerDFAState processState;
+		// sets of NFA states are held as BitSets of their indices
+		NFAIndex = new HashMap<TokenizerNFAState, Integer>();
+		NFAStates = new ArrayList<TokenizerNFAState>();
+		closures = new ArrayList<BitSet>();
 		
-		// a process stack
-		ArrayDeque<TokenizerDFAState> process = new ArrayDeque<TokenizerDFAState>();
+		// a process stack, of the NFA state sets of the DFA states left to process
+		ArrayDeque<BitSet> process = new ArrayDeque<BitSet>();
 		
 		// create a new graph for the DFA
 		DFA = new StateGraph<TokenizerDFAState>();
 		
-		// define the start state of the DFA as the epsilon closure of NFA's start state		
-		TokenizerDFAState DFAStartState = new TokenizerDFAState(epsilonClosure(NFA.start()));
+		// the states of the DFA by their set of NFA states
+		HashMap<NFASet, TokenizerDFAState> states = new HashMap<NFASet, TokenizerDFAState>();
+		
+		// define the start state of the DFA as the epsilon closure of NFA's start state
+		BitSet start = epsilonClosure(index(NFA.start()));
+		
+		TokenizerDFAState DFAStartState = new TokenizerDFAState(toList(start));
 		
 		DFA.add(DFAStartState);
-		process.push(DFAStartState);
+		states.put(new NFASet(start), DFAStartState);
+		process.push(start);
 		
 		// iterate over process stack
 		while ( !process.isEmpty() ) {
-			processState = process.pop();
+			BitSet processSet = process.pop();
+			TokenizerDFAState processState = states.get(new NFASet(processSet));
 			
-			// for each possible character match of the state's NFA
-			for (Character c : processState.getNFATransitionCharacters()) {
-				
-				// ignore epsilon transitions
-				if (c == null) continue;
-				
-				// get all states attainable with the character match
-				ArrayList<TokenizerNFAState> moveResult = move(processState, c);
+			// for each range of characters the state's NFA states go the same way on, the states attainable with it
+			for (TokenizerTransition<BitSet> move : move(processSet)) {
 				
 				// get all states attainable by an epsilon transition from move's results
-				ArrayList<TokenizerNFAState> epsilonResult = epsilonClosure(moveResult);
+				BitSet epsilonResult = epsilonClosure(move.target);
 				
-				// search through the current DFA to see if a similar state already exists
-				boolean found = false;
+				// look for a state of the DFA with the same NFA states
+				NFASet key = new NFASet(epsilonResult);
 				
-				for (TokenizerDFAState s : DFA) {
-					if (equals(s.getNFAStates(), epsilonResult)) {
-						// similar state exists, no need to create a new one, simply add a transition
-						processState.addTransition(c, s);
-						if (s.isAccepting()) s.addOwner(this);
-						found = true;
-						break;
-					}
-				}
+				TokenizerDFAState s = states.get(key);
 				
-				if (!found) {
+				if (s != null) {
+					// similar state exists, no need to create a new one, simply add a transition
+					processState.addTransition(move.first, move.last, s);
+					if (s.isAccepting()) s.addOwner(this);
+				}
+				else {
 					// a similar state was not found, create one and add a transition
-					TokenizerDFAState s = new TokenizerDFAState(epsilonResult);
+					s = new TokenizerDFAState(toList(epsilonResult));
 					
 					DFA.add(s);
+					states.put(key, s);
 					
-					processState.addTransition(c, s);
+					processState.addTransition(move.first, move.last, s);
 					
 					// also include the new state for processing
-					process.push(s);
+					process.push(epsilonResult);
+				}
+				
+			}
+			
+		}
+		
+		// only needed during the conversion
+		NFAIndex = null;
+		NFAStates = null;
+		closures = null;
+		
+	}
+	
+	/**
+	 * Returns the index of the NFA state, giving it the next one the first time it is seen
+	 */
+	private int index(TokenizerNFAState s) {
+		Integer i = NFAIndex.get(s);
+		
+		if (i == null) {
+			i = NFAStates.size();
+			NFAIndex.put(s, i);
+			NFAStates.add(s);
+			closures.add(null);
+		}
+		
+		return i;
+	}
+	
+	/**
+	 * Returns the NFA states of the set, in order of index
+	 */
+	private ArrayList<TokenizerNFAState> toList(BitSet set) {
+		ArrayList<TokenizerNFAState> list = new ArrayList<TokenizerNFAState>(set.cardinality());
+		
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			list.add(NFAStates.get(i));
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Minimize the DFA with Hopcroft's partition refinement, merging the states that accept the same
+	 * token (or none) and go to merged states on every character.
+	 * 
+	 * Missing transitions go to an implicit dead state, kept apart from the others, so the DFA still stops
+	 * on the same character of every input. Each group of merged states is kept as its first state in the
+	 * DFA, with its transitions redirected, so the start state stays first.
+	 */
+	public void minimize() {
+		
+		int n = DFA.size();
+		
+		// the symbols are the ranges of characters every state goes the same way on, each
+		// starting at a bound of some state's range (or at the first character)
+		TreeSet<Integer> bounds = new TreeSet<Integer>();
+		bounds.add((int)Character.MIN_VALUE);
+		
+		for (TokenizerDFAState s : DFA) {
+			for (TokenizerTransition<TokenizerDFAState> trans : s.getTransitions()) {
+				bounds.add((int)trans.first);
+				if (trans.last < Character.MAX_VALUE) bounds.add(trans.last + 1);
+			}
+		}
+		
+		ArrayList<Integer> alphabet = new ArrayList<Integer>(bounds);
+		
+		int symbols = alphabet.size();
+		
+		// index of each state, the dead state is n
+		HashMap<TokenizerDFAState, Integer> index = new HashMap<TokenizerDFAState, Integer>();
+		for (int i = 0; i < n; i++) index.put(DFA.get(i), i);
+		
+		// the states going to each state on each symbol, state t's on symbol a are at
+		// preds[predStart[a * (n+1) + t]] up to that of the next state
+		int[] targets = new int[(n + 1) * symbols];
+		int[] predStart = new int[symbols * (n + 1) + 1];
+		
+		for (int s = 0; s <= n; s++) {
+			for (int a = 0; a < symbols; a++) {
+				TokenizerDFAState next = null;
+				
+				if (s < n) next = DFA.get(s).doTransition((char)(int)alphabet.get(a));
+				
+				int t = (next == null ? n : index.get(next));
+				
+				targets[s * symbols + a] = t;
+				predStart[a * (n + 1) + t + 1]++;
+			}
+		}
+		
+		for (int i = 1; i < predStart.length; i++) predStart[i] += predStart[i - 1];
+		
+		int[] preds = new int[(n + 1) * symbols];
+		int[] fill = Arrays.copyOf(predStart, predStart.length - 1);
+		
+		for (int s = 0; s <= n; s++) {
+			for (int a = 0; a < symbols; a++) {
+				preds[fill[a * (n + 1) + targets[s * symbols + a]]++] = s;
+			}
+		}
+		
+		// the partition: the states of each block are together in elements, from blockStart to blockEnd
+		int[] elements = new int[n + 1], position = new int[n + 1], blockOf = new int[n + 1];
+		int[] blockStart = new int[n + 1], blockEnd = new int[n + 1];
+		int blocks = 0;
+		
+		// start with a block for the dead state, one for the other states that aren't accepting,
+		// and one for the states that accept each token
+		Hashtable<TokenDFA, Integer> acceptBlock = new Hashtable<TokenDFA, Integer>();
+		int[] initial = new int[n + 1];
+		
+		initial[n] = blocks++;
+		int notAccepting = -1;
+		
+		for (int s = 0; s < n; s++) {
+			TokenizerDFAState state = DFA.get(s);
+			
+			if (!state.isAccepting()) {
+				if (notAccepting == -1) notAccepting = blocks++;
+				initial[s] = notAccepting;
+			}
+			else {
+				TokenDFA owner = state.getOwners().get(0);
+				
+				if (!acceptBlock.containsKey(owner)) acceptBlock.put(owner, blocks++);
+				initial[s] = acceptBlock.get(owner);
+			}
+		}
+		
+		int[] size = new int[blocks];
+		for (int s = 0; s <= n; s++) size[initial[s]]++;
+		
+		for (int b = 0, start = 0; b < blocks; b++) {
+			blockStart[b] = blockEnd[b] = start;
+			start += size[b];
+		}
+		
+		for (int s = 0; s <= n; s++) {
+			int b = initial[s];
+			
+			blockOf[s] = b;
+			position[s] = blockEnd[b];
+			elements[blockEnd[b]++] = s;
+		}
+		
+		// blocks left to split the others with, all of them to begin with
+		ArrayDeque<Integer> work = new ArrayDeque<Integer>();
+		boolean[] waiting = new boolean[n + 1];
+		
+		for (int b = 0; b < blocks; b++) {
+			work.push(b);
+			waiting[b] = true;
+		}
+		
+		int[] marked = new int[n + 1];
+		ArrayList<Integer> touched = new ArrayList<Integer>();
+		
+		while (!work.isEmpty()) {
+			int splitter = work.pop();
+			waiting[splitter] = false;
+			
+			// the splitter may itself be split along the way
+			int[] members = Arrays.copyOfRange(elements, blockStart[splitter], blockEnd[splitter]);
+			
+			for (int a = 0; a < symbols; a++) {
+				
+				// move the states going into the splitter on a to the front of their block
+				for (int t : members) {
+					for (int i = predStart[a * (n + 1) + t]; i < predStart[a * (n + 1) + t + 1]; i++) {
+						int s = preds[i], b = blockOf[s];
+						
+						if (marked[b] == 0) touched.add(b);
+						
+						int to = blockStart[b] + marked[b]++, other = elements[to];
+						
+						elements[position[s]] = other;
+						position[other] = position[s];
+						elements[to] = s;
+						position[s] = to;
+					}
 				}
 				
+				// split the blocks only partly going into the splitter
+				for (int b : touched) {
+					if (marked[b] < blockEnd[b] - blockStart[b]) {
+						int split = blocks++;
+						
+						blockStart[split] = blockStart[b];
+						blockEnd[split] = blockStart[b] + marked[b];
+						blockStart[b] = blockEnd[split];
+						
+						for (int i = blockStart[split]; i < blockEnd[split]; i++) blockOf[elements[i]] = split;
+						
+						// either half is enough to split with, unless the whole block was waiting
+						int smaller = (marked[b] <= blockEnd[b] - blockStart[b] ? split : b);
+						
+						if (waiting[b]) smaller = split;
+						
+						work.push(smaller);
+						waiting[smaller] = true;
+					}
+					
+					marked[b] = 0;
+				}
+				
+				touched.clear();
+			}
+		}
+		
+		// keep the first state of each block, in order
+		TokenizerDFAState[] kept = new TokenizerDFAState[blocks];
+		StateGraph<TokenizerDFAState> minimized = new StateGraph<TokenizerDFAState>();
+		
+		for (int s = 0; s < n; s++) {
+			if (kept[blockOf[s]] == null) {
+				kept[blockOf[s]] = DFA.get(s);
+				minimized.add(DFA.get(s));
 			}
+		}
+		
+		for (TokenizerDFAState s : minimized) {
+			ArrayList<TokenizerTransition<TokenizerDFAState>> transitions = new ArrayList<TokenizerTransition<TokenizerDFAState>>(s.getTransitions());
+			
+			s.removeAllTransitions();
 			
+			for (TokenizerTransition<TokenizerDFAState> trans : transitions) {
+				s.addTransition(trans.first, trans.last, kept[blockOf[index.get(trans.target)]]);
+			}
 		}
 		
+		DFA = minimized;
 		
 	}
 	
@@ -423,64 +740,93 @@ public class TokenDFA {
 	}
 	
 	/**
-	 * Returns the epsilon closure of the given state 
+	 * Returns the epsilon closure (all states attainable by epsilon transitions only) of the state
+	 * with the given index, computed once and cached
 	 */
-	public static ArrayList<TokenizerNFAState> epsilonClosure(TokenizerNFAState s) {
-		ArrayList<TokenizerNFAState> states = new ArrayList<TokenizerNFAState>();
-		states.add(s);
-		return epsilonClosure(states);
-	}
-	
-	/**
-	 * Returns the epsilon closure (all states attainable by epsilon transitions only) of the given states
-	 */
-	public static ArrayList<TokenizerNFAState> epsilonClosure(ArrayList<TokenizerNFAState> states) {
-		ArrayList<TokenizerNFAState> closure = new ArrayList<TokenizerNFAState>(states);
+	private BitSet epsilonClosure(int state) {
+		BitSet closure = closures.get(state);
+		
+		if (closure != null) return closure;
+		
+		closure = new BitSet();
+		closure.set(state);
 		
 		ArrayDeque<TokenizerNFAState> process = new ArrayDeque<TokenizerNFAState>();
-				
-		// Initialise process stack with all given states
-		for (TokenizerNFAState s : states) process.push(s);
+		process.push(NFAStates.get(state));
 		
 		while( !process.isEmpty() ) {
-			ArrayList<TokenizerNFAState> epsilonStates = process.pop().getEpsilonTransitions();
-			
-			for (TokenizerNFAState s : epsilonStates) {
-				if ( !closure.contains(s) ) {
+			for (TokenizerNFAState s : process.pop().getEpsilonTransitions()) {
+				int i = index(s);
+				
+				if ( !closure.get(i) ) {
 					// add to closure and processing stack
-					closure.add(s);
+					closure.set(i);
 					process.push(s);
 				}
 			}
 		}
 		
+		closures.set(state, closure);
+		
 		return closure;
 	}
 	
 	/**
-	 * Returns all states attainable from the given state with the transition character specified
+	 * Returns the epsilon closure of the given states, the union of their own
 	 */
-	public static ArrayList<TokenizerNFAState> move(TokenizerDFAState s, Character c) {
-		ArrayList<TokenizerDFAState> states = new ArrayList<TokenizerDFAState>();
-		states.add(s);
-		return move(states, c);
+	private BitSet epsilonClosure(BitSet states) {
+		BitSet closure = new BitSet();
+		
+		for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+			closure.or(epsilonClosure(i));
+		}
+		
+		return closure;
 	}
 	
 	/**
-	 * Returns all states attainable from the given states with the transition character specified
+	 * Returns all states attainable from the given states, on each of the ranges of characters they
+	 * all go the same way on, in order (characters without any transition are left out)
 	 */
-	public static ArrayList<TokenizerNFAState> move(ArrayList<TokenizerDFAState> states, Character c) {
-		ArrayList<TokenizerNFAState> result = new ArrayList<TokenizerNFAState>();
+	private ArrayList<TokenizerTransition<BitSet>> move(BitSet states) {
 		
-		for (TokenizerDFAState from : states) {
-			for (TokenizerNFAState s : from.getNFATransitions(c)) { 
-				if ( !result.contains(s) ) {
-					result.add(s);
-				}
+		// the transitions of the states, and where they start and end (one past their last character)
+		ArrayList<TokenizerTransition<TokenizerNFAState>> transitions = new ArrayList<TokenizerTransition<TokenizerNFAState>>();
+		TreeSet<Integer> bounds = new TreeSet<Integer>();
+		
+		for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+			for (TokenizerTransition<TokenizerNFAState> trans : NFAStates.get(i).getTransitions()) {
+				transitions.add(trans);
+				bounds.add((int)trans.first);
+				bounds.add(trans.last + 1);
+			}
+		}
+		
+		// the bounds split the characters into segments, each transition covers some of them in a row
+		int[] starts = new int[bounds.size()];
+		
+		int n = 0;
+		for (int b : bounds) starts[n++] = b;
+		
+		BitSet[] targets = new BitSet[n];
+		
+		for (TokenizerTransition<TokenizerNFAState> trans : transitions) {
+			int target = index(trans.target);
+			
+			for (int i = Arrays.binarySearch(starts, trans.first); starts[i] <= trans.last; i++) {
+				if (targets[i] == null) targets[i] = new BitSet();
+				
+				targets[i].set(target);
 			}
 		}
 		
-		return result;
+		ArrayList<TokenizerTransition<BitSet>> moves = new ArrayList<TokenizerTransition<BitSet>>();
+		
+		for (int i = 0; i < n - 1; i++) {
+			if (targets[i] != null) moves.add(new TokenizerTransition<BitSet>((char)starts[i], (char)(starts[i+1] - 1), targets[i]));
+		}
+		
+		return moves;
 	}
 	
 	/**
@@ -537,12 +883,12 @@ public class TokenDFA {
 	 * Push operand
 	 */
 	private void pushOperand(StateGraph<TokenizerNFAState> sg) { operandStack.push(sg); }
-	private void pushOperand(Character c) {
+	private void pushOperand(char first, char last) {
 		
 		TokenizerNFAState s1 = new TokenizerNFAState();
 		TokenizerNFAState s2 = new TokenizerNFAState();
 		
-		s1.addTransition(c, s2);
+		s1.addTransition(first, last, s2);
 		
 		StateGraph<TokenizerNFAState> graph = new StateGraph<TokenizerNFAState>();
 		
@@ -554,12 +900,12 @@ public class TokenDFA {
 	}
 	
 	/**
-	 *	Adds the given character to the top of the operand stack as a character class alternative 
+	 *	Adds the given range of characters to the top of the operand stack as a character class alternative 
 	 */
-	private void addToCharClass(Character c) {
+	private void addToCharClass(char first, char last) {
 		StateGraph<TokenizerNFAState> charclass = operandStack.pop();
 		
-		charclass.start().addTransition(c, charclass.end());
+		charclass.start().addTransition(first, last, charclass.end());
 		
 		operandStack.push(charclass);
 	}
@@ -595,7 +941,7 @@ public class TokenDFA {
 	}
 	
 	/**
-	 * Replace character class transitions with their complement
+	 * Replace character class transitions with their complement, over all the characters
 	 */
 	private void evalNegate() throws TokenizerDefinitionException {
 		
@@ -608,22 +954,28 @@ public class TokenDFA {
 		TokenizerNFAState first = graph.start();
 		TokenizerNFAState last = graph.end();
 		
-		Set<Character> negCharSet = graph.start().getTransitionCharacters();
+		// the class's ranges, in order
+		ArrayList<TokenizerTransition<TokenizerNFAState>> ranges = new ArrayList<TokenizerTransition<TokenizerNFAState>>(first.getTransitions());
+		
+		Collections.sort(ranges, new Comparator<TokenizerTransition<TokenizerNFAState>>() {
+			public int compare(TokenizerTransition<TokenizerNFAState> a, TokenizerTransition<TokenizerNFAState> b) { return a.first - b.first; }
+		});
+		
+		first.removeAllTransitions();
 		
-		char[] negChars = new char[negCharSet.size()];
+		// the characters between the ranges (the first one not covered yet is next)
+		int next = Character.MIN_VALUE;
 		
-		int i = 0;
-		for (Character c : negCharSet) {
-			negChars[i++] = c;
+		for (TokenizerTransition<TokenizerNFAState> range : ranges) {
+			if (range.first > next) first.addTransition((char)next, (char)(range.first - 1), last);
+			
+			next = Math.max(next, range.last + 1);
 		}
 		
-		first.removeAllTransitions();
+		if (next <= Character.MAX_VALUE) first.addTransition((char)next, Character.MAX_VALUE, last);
 		
-		// start at 9 since lower values may be used for special meaning
-		for (char c = 9; c <= 255; c++) {
-			if (!Utils.in_array(c, negChars)) {
-				first.addTransition(c, last);
-			}
+		if (!first.hasTransitions()) {
+			throw new TokenizerDefinitionException("Character class matches no character");
 		}
 		
 		operandStack.push(graph);
@@ -787,29 +1139,15 @@ public class TokenDFA {
 	 */
 	private static boolean isOperator(char c) { return Utils.in_array(c, operatorlist); }
 	
-	/**
-	 * Returns whether both graphs are equal by comparing each item
-	 */
-	public static boolean equals(ArrayList<TokenizerNFAState> va, ArrayList<TokenizerNFAState> vb) {
-		
-		if (va.size() != vb.size()) return false;
-		
-		Iterator<TokenizerNFAState> ita = va.iterator();
-		Iterator<TokenizerNFAState> itb = vb.iterator();
-		
-		while (ita.hasNext() && itb.hasNext()) {
-			if (ita.next().getID() != itb.next().getID()) return false;
-		}
-		
-		return true;
-		
-	}
-	
 	/**
 	 * A bunch of getters.
 	 */
 	public boolean isInternal() { return internal; }
 	
+	public boolean isKeyword() { return keywordBase != null; }
+	
+	public String getKeywordBase() { return keywordBase; }
+	
 	public String getRegexp() { return regexp; }
 	
 	public TokenizerDFAState getStartState() { return DFA.start(); }
@@ -0,0 +1,275 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Hashtable;
+
+/**
+ * Compiles the character DFA of TokenizerTables into a DFA over the bytes of UTF-8 input,
+ * ready to be emitted by ByteTokenizerClassCreator.
+ *
+ * ASCII characters are single bytes, so the character DFA's states are kept (with the same numbers,
+ * the start state still being 0) and take their ASCII transitions as they are. Every other character
+ * is a sequence of a lead byte and one to three continuation bytes, which go through intermediate,
+ * non-accepting states. Intermediate states only depend on the targets of the characters they can
+ * still lead to, so states with the same targets (typically all non-ASCII characters going to the
+ * same place) are shared rather than built once per state and lead byte.
+ *
+ * Characters outside of the Basic Multilingual Plane are matched like the character DFA does, as a
+ * surrogate pair. Malformed sequences (overlong forms, encoded surrogates, stray continuation bytes)
+ * have no transitions, and so never match.
+ *
+ * Bytes are grouped into equivalence classes as TokenizerTables does for characters.
+ */
+public class TokenizerByteTables {
+
+	/**
+	 * The character tables we compile from
+	 */
+	private TokenizerTables tables;
+
+	/**
+	 * For each character state, the first character of each run of characters going to the same target
+	 */
+	private int[][] runStarts;
+
+	/**
+	 * Targets of the 256 bytes for each state, character states first then intermediate states
+	 */
+	private ArrayList<int[]> rows = new ArrayList<int[]>();
+
+	/**
+	 * Intermediate states, by the description of the characters they lead to
+	 */
+	private Hashtable<String, Integer> intermediates = new Hashtable<String, Integer>();
+
+	/**
+	 * Equivalence class of each byte
+	 */
+	private int[] byteClasses;
+
+	/**
+	 * Number of equivalence classes
+	 */
+	private int numClasses;
+
+	/**
+	 * Constructor. Build the byte tables from the character tables.
+	 */
+	public TokenizerByteTables(TokenizerTables tables) {
+
+		this.tables = tables;
+
+		buildRuns();
+		buildRows();
+		buildClasses();
+	}
+
+	/**
+	 * Split each state's characters into runs going to the same target, the last run extending
+	 * to the end of the character range
+	 */
+	private void buildRuns() {
+
+		runStarts = new int[tables.getNumStates()][];
+
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			ArrayList<Integer> starts = new ArrayList<Integer>();
+
+			int previous = 0;
+			for (int c = 0; c <= tables.getAlphabetSize(); c++) {
+				int target = charTarget(s, c);
+
+				if (starts.isEmpty() || target != previous) starts.add(c);
+
+				previous = target;
+			}
+
+			runStarts[s] = new int[starts.size()];
+			for (int i = 0; i < starts.size(); i++) runStarts[s][i] = starts.get(i);
+		}
+
+	}
+
+	/**
+	 * Fill the rows of the character states, creating the intermediate states as they are needed
+	 */
+	private void buildRows() {
+
+		int numStates = tables.getNumStates();
+
+		for (int s = 0; s < numStates; s++) {
+			rows.add(null);
+		}
+
+		for (int s = 0; s < numStates; s++) {
+			int[] row = new int[256];
+			Arrays.fill(row, TokenizerTables.NO_STATE);
+
+			for (int b = 0; b < 0x80; b++) {
+				row[b] = charTarget(s, b);
+			}
+
+			// two bytes: U+0080 to U+07FF (C0 and C1 would be overlong)
+			for (int lead = 0xc2; lead <= 0xdf; lead++) {
+				row[lead] = intermediate(s, false, (lead & 0x1f) << 6, 1, 0x80, 0xbf);
+			}
+
+			// three bytes: U+0800 to U+FFFF, without overlong forms after E0 and surrogates after ED
+			for (int lead = 0xe0; lead <= 0xef; lead++) {
+				row[lead] = intermediate(s, false, (lead & 0x0f) << 12, 2, lead == 0xe0 ? 0xa0 : 0x80, lead == 0xed ? 0x9f : 0xbf);
+			}
+
+			// four bytes: U+10000 to U+10FFFF, without overlong forms after F0 and beyond U+10FFFF after F4
+			for (int lead = 0xf0; lead <= 0xf4; lead++) {
+				row[lead] = intermediate(s, true, (lead & 0x07) << 18, 3, lead == 0xf0 ? 0x90 : 0x80, lead == 0xf4 ? 0x8f : 0xbf);
+			}
+
+			rows.set(s, row);
+		}
+
+	}
+
+	/**
+	 * Returns the intermediate state for a lead byte or continuation bytes read from state s, from which
+	 * the remaining continuation bytes (from first to last for the next one) complete the code points
+	 * from base to base + 64^remaining.
+	 */
+	private int intermediate(int s, boolean supplementary, int base, int remaining, int first, int last) {
+
+		int end = base + (1 << (6 * remaining));
+
+		// describe the state by the targets of its code points
+		StringBuilder key = new StringBuilder(remaining + ":" + first + "-" + last);
+
+		int previous = 0;
+		for (int cp = base; cp < end; cp = runEnd(s, supplementary, cp)) {
+			int target = codePointTarget(s, supplementary, cp);
+
+			if (cp == base || target != previous) key.append(" " + (cp - base) + ">" + target);
+
+			previous = target;
+		}
+
+		Integer known = intermediates.get(key.toString());
+		if (known != null) return known;
+
+		int state = rows.size();
+		intermediates.put(key.toString(), state);
+
+		int[] row = new int[256];
+		Arrays.fill(row, TokenizerTables.NO_STATE);
+		rows.add(row);
+
+		for (int b = first; b <= last; b++) {
+			int cp = base + ((b & 0x3f) << (6 * (remaining - 1)));
+
+			if (remaining == 1) {
+				row[b] = codePointTarget(s, supplementary, cp);
+			} else {
+				row[b] = intermediate(s, supplementary, cp, remaining - 1, 0x80, 0xbf);
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Returns the character state reached from state s on the code point, through both halves
+	 * of its surrogate pair if it is supplementary
+	 */
+	private int codePointTarget(int s, boolean supplementary, int cp) {
+		if (!supplementary) return charTarget(s, cp);
+
+		int high = Character.highSurrogate(cp), low = Character.lowSurrogate(cp);
+
+		int next = charTarget(s, high);
+		if (next == TokenizerTables.NO_STATE) return TokenizerTables.NO_STATE;
+
+		return charTarget(next, low);
+	}
+
+	/**
+	 * Returns the code point following cp up to which codePointTarget() can't change
+	 */
+	private int runEnd(int s, boolean supplementary, int cp) {
+		if (!supplementary) return nextRunStart(s, cp);
+
+		// the high surrogate is the same over blocks of 1024 code points
+		int blockEnd = ((cp >> 10) + 1) << 10;
+
+		int next = charTarget(s, Character.highSurrogate(cp));
+		if (next == TokenizerTables.NO_STATE) return blockEnd;
+
+		int low = Character.lowSurrogate(cp);
+
+		return Math.min(blockEnd, cp + nextRunStart(next, low) - low);
+	}
+
+	/**
+	 * Returns the start of the run following the one that holds character c in state s
+	 */
+	private int nextRunStart(int s, int c) {
+		int[] starts = runStarts[s];
+
+		int i = Arrays.binarySearch(starts, c);
+		if (i < 0) i = -i - 2;
+
+		return (i + 1 < starts.length ? starts[i + 1] : 0x10000);
+	}
+
+	/**
+	 * Returns the target of state s on character c
+	 */
+	private int charTarget(int s, int c) {
+		return tables.getTransition(s, tables.getCharClass(c));
+	}
+
+	/**
+	 * Partition the bytes into equivalence classes, renumbered by first appearance
+	 */
+	private void buildClasses() {
+
+		int[] classOf = TokenizerTables.partition(rows, 256);
+
+		int[] renumber = new int[256];
+		Arrays.fill(renumber, -1);
+
+		numClasses = 0;
+		byteClasses = new int[256];
+
+		for (int b = 0; b < 256; b++) {
+			if (renumber[classOf[b]] == -1) renumber[classOf[b]] = numClasses++;
+
+			byteClasses[b] = renumber[classOf[b]];
+		}
+
+	}
+
+	/**
+	 * Returns the next state on the given byte class, or NO_STATE
+	 */
+	public int getTransition(int state, int byteClass) {
+		for (int b = 0; b < 256; b++) {
+			if (byteClasses[b] == byteClass) return rows.get(state)[b];
+		}
+		return TokenizerTables.NO_STATE;
+	}
+
+	/**
+	 * Returns the token type accepted by the state, intermediate states never accept
+	 */
+	public int getAccepting(int state) {
+		return (state < tables.getNumStates() ? tables.getAccepting(state) : TokenizerTables.NOT_ACCEPTING);
+	}
+
+	/**
+	 * A bunch of getters.
+	 */
+	public TokenizerTables getCharTables() { return tables; }
+
+	public int getNumStates() { return rows.size(); }
+
+	public int getNumClasses() { return numClasses; }
+
+	public int getByteClass(int b) { return byteClasses[b]; }
+
+}
@@ -1,14 +1,29 @@
 
 import java.io.PrintWriter;
 import java.io.IOException;
-import java.util.Hashtable;
+import java.util.ArrayList;
 
 /**
  * Output the Tokenizer class based on the passed token definitions
  *
+ * The DFA can be emitted in one of two modes:
+ * 
+ * 		TABLE_MODE		transitions are looked up in class-indexed tables
+ * 
+ * 		SWITCH_MODE		each state is coded directly as a case of a switch on the current character,
+ * 						no tables are consulted while scanning
+ *
+ * In both modes, states that loop back to themselves on most characters (the body of a string, the tail
+ * of an identifier) run through those characters in a tight loop, testing a bitmap of the characters.
  */
 public class TokenizerClassCreator {
 
+	/**
+	 * Constants used for the "mode" variable
+	 */
+	public static final int TABLE_MODE = 1;
+	public static final int SWITCH_MODE = 2;
+	
 	/**
 	 * A prefix to prepend to all class names
 	 */
@@ -18,13 +33,52 @@ public class TokenizerClassCreator {
 	 * The token definition we base the tokenizer on
 	 */
 	private TokenizerDefinition tokendef;
+	
+	/**
+	 * How the DFA is emitted, see constants for values
+	 */
+	private int mode;
+	
+	/**
+	 * Names of the tokens whose values are interned in the tokenizer's SymbolTable
+	 */
+	private ArrayList<String> internedTokens;
+	
+	/**
+	 * Whether self-looping states go through the VectorScanner when it is supported
+	 */
+	private boolean vectorScanning;
 
 	/**
 	 * Constructor.
 	 */
 	public TokenizerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this(prefix, tokendef, TABLE_MODE);
+	}
+	
+	/**
+	 * Constructor.
+	 */
+	public TokenizerClassCreator (String prefix, TokenizerDefinition tokendef, int mode) {
+		this(prefix, tokendef, mode, new ArrayList<String>());
+	}
+	
+	/**
+	 * Constructor.
+	 */
+	public TokenizerClassCreator (String prefix, TokenizerDefinition tokendef, int mode, ArrayList<String> internedTokens) {
+		this(prefix, tokendef, mode, internedTokens, false);
+	}
+	
+	/**
+	 * Constructor.
+	 */
+	public TokenizerClassCreator (String prefix, TokenizerDefinition tokendef, int mode, ArrayList<String> internedTokens, boolean vectorScanning) {
 		this.prefix = prefix;
 		this.tokendef = tokendef;
+		this.mode = mode;
+		this.internedTokens = internedTokens;
+		this.vectorScanning = vectorScanning;
 	}
 	
 	/**
@@ -35,248 +89,899 @@ public class TokenizerClassCreator {
 		String interfacename = prefix + "iTokenizer";
 		String tokclass = prefix + "Token";
 		
-		Hashtable<Integer, String> accepting = new Hashtable<Integer, String>();
+		TokenizerTables tables = new TokenizerTables(tokendef);
+		TokenizerKeywords keywords = new TokenizerKeywords(tables);
 		
 		out.println("import java.io.*;");
-		out.println("import java.util.Hashtable;");
+		out.println("import java.nio.file.Files;");
+		out.println("import java.nio.file.Path;");
 		out.println("import java.util.ArrayList;");
-		out.println("import java.util.ArrayDeque;");
-		out.println("import java.util.ListIterator;");
+		out.println("import java.util.Arrays;");
+		out.println("import java.util.List;");
+		out.println("import java.util.Spliterator;");
+		out.println("import java.util.Spliterators;");
+		out.println("import java.util.concurrent.Callable;");
+		out.println("import java.util.function.IntConsumer;");
+		out.println("import java.util.stream.IntStream;");
+		out.println("import java.util.stream.Stream;");
+		out.println("import java.util.stream.StreamSupport;");
 		out.println();
 		
-		out.println("public class " + classname + " implements " + interfacename + " {");
+		out.println("public class " + classname + " implements " + interfacename + ", Closeable {");
 		out.println();
 		
-		int i = 1;
-		for(TokenDFA tdfa : tokendef.getAllTokenDFA()) {
-			if (tdfa.isInternal() || tdfa.name.equals("skip")) continue;
-			
-			out.println("  public static final int " + tdfa.name.toUpperCase() + "_TOKEN = " + (i++) + "; // " + tdfa.regexp);
+		for(TokenDFA tdfa : tables.getTokens()) {
+			out.println("  public static final int " + tdfa.name.toUpperCase() + "_TOKEN = " + tables.getTokenType(tdfa) + "; // " + tdfa.regexp);
 		}
 		out.println("  public static final int EOF_TOKEN = -1;");
 		out.println();
 		
-		out.println("  private static final char wildcard = " + (int)TokenizerState.wildcard + ";");
+		out.println("  private static final int SKIP = " + TokenizerTables.SKIP + ";");
+		out.println("  private static final int NOT_ACCEPTING = " + TokenizerTables.NOT_ACCEPTING + ";");
+		out.println("  private static final int NO_STATE = " + TokenizerTables.NO_STATE + ";");
+		if (mode == SWITCH_MODE) {
+			out.println("  private static final int NEED_INPUT = -2; // the state has to read past the end of the buffer");
+		}
 		out.println();
 		
-		out.println("  private LineNumberReader input;");
+		out.println("  private static final int STATES = " + tables.getNumStates() + ";");
+		out.println("  private static final int ALPHABET = " + tables.getAlphabetSize() + ";");
+		if (mode == TABLE_MODE) {
+			out.println("  private static final int CLASSES = " + tables.getNumClasses() + ";");
+		}
 		out.println();
 		
-		out.println("  private int currentColumn = 1;");
+		String names = "\"skip\"";
+		for(TokenDFA tdfa : tables.getTokens()) {
+			names += ", \"" + tdfa.name + "\"";
+		}
+		out.println("  private static final String[] tokenNames = { " + names + " };");
 		out.println();
 		
-		out.println("  private Hashtable<Integer, Hashtable<Character, Integer>> DFA = new Hashtable<Integer, Hashtable<Character, Integer>>();");
+		if (!keywords.isEmpty()) {
+			outputKeywordTables(out, keywords);
+		}
+		
+		out.println("  private static final int BUFFER_SIZE = 16384;");
 		out.println();
 		
-		out.println("  private Hashtable<Integer, String> accepting = new Hashtable<Integer, String>();");
+		if (vectorScanning) {
+			out.println("  private static final boolean VECTOR = vectorSupported();");
+			out.println("  private static final int VECTOR_MIN = 16; // characters looped on before going on in vectors");
+			out.println();
+		}
+		
+		out.println("  private Reader input;");
+		out.println("  private boolean eof; // input has been read to its end");
 		out.println();
 		
-		out.println("  private ArrayList<" + tokclass + "> tokenHistory = new ArrayList<" + prefix + "Token>();");
-		out.println("  private ListIterator<" + tokclass+ "> tokenHistoryIT = tokenHistory.listIterator();");
-		out.println("  private int tokenHistorySize = 20;");
+		outputTables(out, tables);
+		
+		
+		out.println("  private char[] buf = new char[BUFFER_SIZE]; // a block of input, from the current token onwards");
+		out.println("  private long bufOffset; // absolute offset of buf[0] in the input");
+		out.println("  private int tokenStart; // offset in buf of the token being scanned");
+		out.println("  private int pos; // offset in buf of the next character to scan");
+		out.println("  private int limit; // number of characters held in buf");
+		out.println("  private boolean shared; // returned tokens refer to the buffer, it can't be compacted in place");
 		out.println();
 		
-		out.println("  private ArrayDeque<Integer> pushedChars = new ArrayDeque<Integer>();");
+		out.println("  private int line = 1; // line number at the absolute offset lineCounted");
+		out.println("  private long lineStart; // absolute offset of the start of that line");
+		out.println("  private long lineCounted; // absolute offset up to which lines have been counted");
+		out.println("  private char lastCounted; // the last character counted, to join \\r\\n");
 		out.println();
 		
+		outputHistoryFields(out, tokclass);
+		
+		if (!internedTokens.isEmpty()) {
+			out.println("  private " + prefix + "SymbolTable symbols = new " + prefix + "SymbolTable(); // values of the " + String.join(", ", internedTokens) + " tokens");
+			out.println();
+		}
+		
 		out.println("  public " + classname + " (Reader reader) {");
-		out.println("    input = new LineNumberReader(reader);");
-		out.println("    input.setLineNumber(1); //start at one");
-		out.println("    buildDFA();");
+		out.println("    input = reader;");
 		out.println("  } // end constructor");
 		out.println();
 		
-		out.println("  public void setTokenHistorySize(int size) { tokenHistorySize = size; }");
-		out.println("  public int getTokenHistorySize() { return tokenHistorySize; }");
+		if (!internedTokens.isEmpty()) {
+			out.println("  public " + prefix + "SymbolTable getSymbolTable() { return symbols; }");
+			out.println("  public void setSymbolTable(" + prefix + "SymbolTable table) { symbols = table; } // to share symbols between tokenizers");
+			out.println();
+		}
+		
+		out.println("  // start over on a new input, reusing the buffers, tokens read before keep their values");
+		out.println("  public void reset(Reader reader) {");
+		out.println("    input = reader;");
+		out.println("    eof = false;");
+		out.println("    if (shared) {");
+		out.println("      // tokens read before still refer to the buffer, leave it to them");
+		out.println("      buf = new char[BUFFER_SIZE];");
+		out.println("      shared = false;");
+		out.println("    }");
+		out.println("    bufOffset = tokenStart = pos = limit = 0;");
+		out.println("    line = 1;");
+		out.println("    lineStart = lineCounted = 0;");
+		out.println("    lastCounted = 0;");
+		out.println("    Arrays.fill(tokenHistory, null);");
+		out.println("    tokenCount = tokenIndex = firstMark = marks = 0;");
+		out.println("  } // end reset");
 		out.println();
 		
-		out.println("  public int getLineNumber() { return input.getLineNumber(); }");
+		out.println("  public void close() throws IOException { input.close(); }");
 		out.println();
 		
-		out.println("  public " + tokclass + " nextToken() throws " + prefix + "TokenizerException {");
-		out.println("    if (tokenHistoryIT.hasNext()) {");
-		out.println("      return tokenHistoryIT.next();");
-		out.println("    } else {");
-		out.println("      " + tokclass + " token = _nextToken();");
-		out.println("      tokenHistoryIT.add(token);");
-		out.println("      if (tokenHistory.size() > tokenHistorySize) {");
-		out.println("        tokenHistory.remove(0);");
-		out.println("        tokenHistoryIT = tokenHistory.listIterator(tokenHistorySize);");
-		out.println("      }");
-		out.println("      return token;");
+		out.println("  // the tokens of the files one after the other (read as UTF-8), a parallel stream hands out separate files to its workers");
+		out.println("  public static Stream<" + tokclass + "> tokens(List<Path> files) {");
+		out.println("    List<Callable<" + classname + ">> sources = new ArrayList<Callable<" + classname + ">>();");
+		out.println("    for (Path file : files) {");
+		out.println("      sources.add(() -> new " + classname + "(Files.newBufferedReader(file)));");
 		out.println("    }");
-		out.println("  } // end nextToken");
+		out.println("    return StreamSupport.stream(new " + prefix + "TokenSpliterator(sources), false);");
+		out.println("  }");
+		out.println();
+		
+		out.println("  public int getLineNumber() { countLines(pos); return line; }");
 		out.println();
 		
+		outputHistoryFunctions(out, prefix, tokclass);
+		
 		out.println("  private " + tokclass + " _nextToken() throws " + prefix + "TokenizerException {");
-		out.println("    int c;");
-		out.println("    String value;");
 		out.println("    int curState;");
 		out.println();
 		out.println("  tokenLoop:");
 		out.println("    while (true) {");
-		out.println("      int lineNumber = getLineNumber();");
-		out.println("      int column = currentColumn;");
-		out.println("      curState = 0;");
-		out.println("      value = \"\";");
-		out.println();
-		out.println("      while ( (c=getChar()) != -1 ) { // read in a character (-1 indicates EOF)");
-		out.println("        if (transition(curState, (char)c) == -1) break;");
-		out.println("        value += (char)c;");
-		out.println("        curState = transition(curState, (char)c);");
+		out.println("      tokenStart = pos;");
+		out.println();
+		out.println("      curState = scan();");
+		out.println();
+		out.println("      if (curState != NO_STATE && accepting[curState] == SKIP) continue tokenLoop;");
+		out.println();
+		out.println("      // lines are only counted up to tokens that are reported");
+		out.println("      countLines(tokenStart);");
+		out.println("      int column = (int)(bufOffset + tokenStart - lineStart) + 1;");
+		out.println();
+		out.println("      if (curState == NO_STATE) {");
+		out.println("        if (pos == tokenStart) {");
+		out.println("          return new " + tokclass + "(EOF_TOKEN, \"eof\", \"\", line, column, bufOffset + tokenStart);");
+		out.println("        }");
+		out.println("        throw new " + prefix + "NoSuchTokenException(new String(buf, tokenStart, pos - tokenStart), line, column);");
 		out.println("      }");
 		out.println();
-		out.println("      if (c == -1 && value.isEmpty()) {");
-		out.println("        return createToken(\"eof\", \"\", lineNumber, column);");
-		out.println("      } else if (accepting.containsKey(curState)) {");
-		out.println("        pushChar(c);");
-		out.println("        if (accepting.get(curState).equals(\"skip\")) continue tokenLoop;");
-		out.println("        return createToken(accepting.get(curState), value, lineNumber, column);");
+		out.println("      int type = accepting[curState];");
+		if (!keywords.isEmpty()) {
+			out.println("      if (" + keywordCondition(keywords, "") + ") type = keyword(type, buf, tokenStart, pos - tokenStart);");
+		}
+		if (!internedTokens.isEmpty()) {
+			out.println("      if (" + internedCondition() + ") {");
+			out.println("        int symbol = symbols.intern(buf, tokenStart, pos - tokenStart);");
+			out.println("        return new " + tokclass + "(type, tokenNames[type], symbols.get(symbol), symbol, line, column, bufOffset + tokenStart);");
+			out.println("      }");
+		}
+		out.println("      shared = true;");
+		out.println("      return new " + tokclass + "(type, tokenNames[type], buf, tokenStart, pos - tokenStart, line, column, bufOffset + tokenStart);");
+		out.println("    }");
+		out.println("  } // end _nextToken");
+		out.println();
+		
+		String symbol = (internedTokens.isEmpty() ? "-1" : "(" + internedCondition() + " ? symbols.intern(buf, tokenStart, pos - tokenStart) : -1)");
+		String keyword = (keywords.isEmpty() ? null : "if (" + keywordCondition(keywords, "") + ") type = keyword(type, buf, tokenStart, pos - tokenStart);");
+		outputBulkFillFunction(out, prefix, "accepting[curState]", keyword, "bufOffset + tokenStart", "bufOffset + pos", "(int)(bufOffset + tokenStart - lineStart) + 1", symbol, "new String(buf, tokenStart, pos - tokenStart)");
+		
+		if (mode == SWITCH_MODE) {
+			outputSwitchScanFunction(out, tables);
+		} else {
+			outputTableScanFunction(out);
+		}
+		
+		outputStepFunction(out, tables);
+		
+		if (!keywords.isEmpty()) {
+			outputKeywordFunction(out, "", "char[]", "text[%s]");
+		}
+		
+		if (vectorScanning) {
+			out.println("  // the VectorScanner needs the jdk.incubator.vector module, and is only worth it with wide enough vectors");
+			out.println("  private static boolean vectorSupported() {");
+			out.println("    try {");
+			out.println("      return " + prefix + "VectorScanner.isSupported();");
+			out.println("    }");
+			out.println("    catch (LinkageError ex) {");
+			out.println("      return false;");
+			out.println("    }");
+			out.println("  } // end vectorSupported");
+			out.println();
+		}
+		
+		out.println("  static int accepts(int state) { return accepting[state]; }");
+		out.println("  static String tokenName(int type) { return tokenNames[type]; }");
+		out.println();
+		
+		out.println("  private void countLines(int to) {");
+		out.println("    for (int i = (int)(lineCounted - bufOffset); i < to; i++) {");
+		if (vectorScanning) {
+			out.println("      if (VECTOR && to - i >= VECTOR_MIN) {");
+			out.println("        // run up to the next line break in vectors");
+			out.println("        int next = " + prefix + "VectorScanner.lineBreak(buf, i, to);");
+			out.println("        if (next > i) {");
+			out.println("          lastCounted = buf[next - 1];");
+			out.println("          if ((i = next) == to) break;");
+			out.println("        }");
+			out.println("      }");
+		}
+		out.println("      char c = buf[i];");
+		out.println("      if (c == '\\n' || c == '\\r') {");
+		out.println("        if (c == '\\r' || lastCounted != '\\r') line++;");
+		out.println("        lineStart = bufOffset + i + 1;");
+		out.println("      }");
+		out.println("      lastCounted = c;");
+		out.println("    }");
+		out.println("    if (bufOffset + to > lineCounted) lineCounted = bufOffset + to;");
+		out.println("  } // end countLines");
+		out.println();
+		
+		out.println("  private boolean refill() throws " + prefix + "TokenizerException {");
+		out.println("    if (eof) return false;");
+		out.println("    if (limit == buf.length) {");
+		out.println("      if (tokenStart > 0) {");
+		out.println("        // characters before the current token are no longer needed, once their lines are counted");
+		out.println("        countLines(tokenStart);");
+		out.println("        char[] from = buf;");
+		out.println("        if (shared) {");
+		out.println("          // returned tokens still refer to the buffer, leave it to them");
+		out.println("          buf = new char[buf.length];");
+		out.println("          shared = false;");
+		out.println("        }");
+		out.println("        System.arraycopy(from, tokenStart, buf, 0, limit - tokenStart);");
+		out.println("        bufOffset += tokenStart;");
+		out.println("        pos -= tokenStart;");
+		out.println("        limit -= tokenStart;");
+		out.println("        tokenStart = 0;");
 		out.println("      } else {");
-		out.println("        value += (char)c;");
-		out.println("        throw new " + prefix + "NoSuchTokenException(value, lineNumber, column);");
+		out.println("        // the token fills the whole buffer");
+		out.println("        buf = Arrays.copyOf(buf, buf.length * 2);");
+		out.println("        shared = false;");
 		out.println("      }");
 		out.println("    }");
-		out.println("  } // end _nextToken");
+		out.println("    int n;");
+		out.println("    try {");
+		out.println("      n = input.read(buf, limit, buf.length - limit);");
+		out.println("    }");
+		out.println("    catch (IOException ex) {");
+		out.println("      throw new " + prefix + "TokenizerException(ex);");
+		out.println("    }");
+		out.println("    if (n <= 0) {");
+		out.println("      eof = true;");
+		out.println("      return false;");
+		out.println("    }");
+		out.println("    limit += n;");
+		out.println("    return true;");
+		out.println("  } // end refill");
 		out.println();
 		
-		out.println("  public void pushToken() throws " + prefix + "TokenizerException {");
-		out.println("    if (tokenHistoryIT.hasPrevious()) {");
-		out.println("      tokenHistoryIT.previous();");
-		out.println("    } else {");
-		out.println("      throw new " + prefix + "TokenizerException(\"Token push limit (\" + tokenHistorySize + \") exceeded.\");");
+		outputUnpackFunction(out);
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+	/**
+	 * Tokenizer's scan function for TABLE_MODE.
+	 * 
+	 * Follow transitions for as long as there are some, remembering the last accepting state
+	 * seen and where it ended, then rewind to it (the longest match). Returns the accepting state,
+	 * the token's value being left in buf from tokenStart to pos, or NO_STATE if nothing matched.
+	 * 
+	 * The buffer and offsets are held in locals, and only reloaded when the buffer is refilled.
+	 */
+	private void outputTableScanFunction(PrintWriter out) {
+		
+		out.println("  private int scan() throws " + prefix + "TokenizerException {");
+		out.println("    char[] b = buf;");
+		out.println("    int p = pos, lim = limit, start = tokenStart;");
+		out.println("    int state = 0, next, c;");
+		out.println("    int acceptState = NO_STATE, acceptLength = 0;");
+		out.println();
+		out.println("    while (true) {");
+		out.println("      if (p == lim) {");
+		out.println("        pos = p;");
+		out.println("        boolean more = refill();");
+		out.println("        b = buf; p = pos; lim = limit; start = tokenStart; // the buffer may have been compacted, even at the end of input");
+		out.println("        if (!more) break;");
+		out.println("      }");
+		out.println("      c = b[p++];");
+		out.println("      next = transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];");
+		out.println("      if (next == NO_STATE) break;");
+		out.println("      state = next;");
+		out.println("      if (accepting[state] != NOT_ACCEPTING) {");
+		out.println("        acceptState = state;");
+		out.println("        acceptLength = p - start;");
+		out.println("      }");
+		out.println("      if (loops[state] != null) {");
+		out.println("        // run through the characters the state loops on, without going through the tables");
+		out.println("        boolean[] loop = loops[state];");
+		outputSelfLoop(out, "state", "loop", "        ");
+		out.println("        if (acceptState == state) acceptLength = p - start;");
+		out.println("      }");
 		out.println("    }");
-		out.println("  } // end pushToken");
+		out.println();
+		out.println("    pos = (acceptState != NO_STATE ? start + acceptLength : p);");
+		out.println("    return acceptState;");
+		out.println("  } // end scan");
 		out.println();
 		
-		out.println("  private int transition(Integer state, Character c) {");
-		out.println("    Integer nextState = DFA.get(state).get(c);");
+	}
+	
+	/**
+	 * Tokenizer's scan function for SWITCH_MODE: same contract as the table version, but each
+	 * state is a case of its own and its transitions are coded directly in a method, no tables
+	 * are consulted.
+	 * 
+	 * Accepting states record themselves as the last accepting state on entry, and those without
+	 * transitions return directly, without reading a lookahead character or rewinding.
+	 * 
+	 * The state methods are kept apart from scan() so that it stays well under the size
+	 * HotSpot is willing to compile, small states are inlined back by the JIT anyway.
+	 */
+	private void outputSwitchScanFunction(PrintWriter out, TokenizerTables tables) {
+		
+		out.println("  private int scan() throws " + prefix + "TokenizerException {");
+		out.println("    char[] b = buf;");
+		out.println("    int p = pos, lim = limit, start = tokenStart;");
+		out.println("    int state = 0, next;");
+		out.println("    int acceptState = NO_STATE, acceptLength = 0;");
 		out.println();
-		out.println("    if (nextState == null) {");
-		out.println("      nextState = DFA.get(state).get(wildcard);");
+		out.println("    while (true) {");
+		out.println("      next = NEED_INPUT;");
 		out.println();
-		out.println("      if (nextState == null) {");
-		out.println("        nextState = -1;");
+		out.println("      switch (state) {");
+		
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			
+			boolean accept = tables.getAccepting(s) != TokenizerTables.NOT_ACCEPTING;
+			
+			out.println("        case " + s + ":" + (accept ? " // accepts " + tables.getTokenName(tables.getAccepting(s)) : ""));
+			
+			if (!tables.hasTransitions(s)) {
+				out.println("          pos = p;");
+				out.println("          return " + s + ";");
+				continue;
+			}
+			
+			if (tables.isSelfLooping(s)) {
+				outputSelfLoop(out, String.valueOf(s), "loops[" + s + "]", "          ");
+			}
+			if (accept) {
+				out.println("          acceptState = " + s + ";");
+				out.println("          acceptLength = p - start;");
+			}
+			out.println("          if (p < lim) next = state" + s + "(b[p++]);");
+			out.println("          break;");
+			
+		}
+		
+		out.println("        default:");
+		out.println("          throw new RuntimeException(\"Unknown tokenizer state \" + state);");
+		out.println("      }");
+		out.println();
+		out.println("      if (next == NEED_INPUT) {");
+		out.println("        pos = p;");
+		out.println("        boolean more = refill();");
+		out.println("        b = buf; p = pos; lim = limit; start = tokenStart; // the buffer may have been compacted, even at the end of input");
+		out.println("        if (!more) break;");
+		out.println("        continue;");
 		out.println("      }");
 		out.println();
+		out.println("      if (next == NO_STATE) break;");
+		out.println();
+		out.println("      state = next;");
 		out.println("    }");
 		out.println();
-		out.println("    return nextState;");
-		out.println("  } // end transition");
+		out.println("    pos = (acceptState != NO_STATE ? start + acceptLength : p);");
+		out.println("    return acceptState;");
+		out.println("  } // end scan");
 		out.println();
 		
-		out.println("  private void pushChar(Integer c) {");
-		out.println("    pushedChars.push(c);");
-		out.println("    if (c == 10 || (c == 13 && pushedChars.peek() != 10)) {");
-		out.println("      input.setLineNumber(input.getLineNumber()-1);");
-		out.println("      currentColumn = 999999999; // don't know the previous line's length, so set to a bajillion");
-		out.println("    } else {");
-		out.println("      currentColumn--;");
-		out.println("    }");
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			if (!tables.hasTransitions(s)) continue;
+			
+			// split the characters into runs going to the same state, the last run extends to the end of the character range
+			ArrayList<Integer> starts = new ArrayList<Integer>();
+			ArrayList<Integer> targets = new ArrayList<Integer>();
+			
+			for (int c = 0; c <= tables.getAlphabetSize(); c++) {
+				int target = tables.getTransition(s, tables.getCharClass(c));
+				
+				if (targets.isEmpty() || targets.get(targets.size()-1) != target) {
+					starts.add(c);
+					targets.add(target);
+				}
+			}
+			
+			out.println("  private static int state" + s + "(int c) {");
+			outputRunSearch(out, starts, targets, 0, starts.size()-1, "    ");
+			out.println("  } // end state" + s);
+			out.println();
+		}
+		
+	}
+	
+	/**
+	 * Output the loop running through the characters a self-looping state loops on, with the
+	 * characters' bitmap given. With vector scanning, runs longer than VECTOR_MIN go on in vectors.
+	 */
+	private void outputSelfLoop(PrintWriter out, String state, String loop, String indent) {
+		
+		String test = loop + "[b[p] < ALPHABET ? b[p] : ALPHABET]";
+		
+		if (!vectorScanning) {
+			out.println(indent + "while (p < lim && " + test + ") p++;");
+			return;
+		}
+		
+		out.println(indent + "for (int scalar = Math.min(lim, p + VECTOR_MIN); p < lim && " + test + "; ) {");
+		out.println(indent + "  if (++p == scalar && VECTOR) p = " + prefix + "VectorScanner.run(" + state + ", b, p, lim);");
+		out.println(indent + "}");
+		
+	}
+	
+	/**
+	 * Token history fields, shared by all the tokenizer classes.
+	 * 
+	 * The history is a ring buffer indexed by token number, so nothing is shifted or allocated as
+	 * tokens go through it. Its capacity is a power of two, grown only while marks hold on to tokens.
+	 */
+	static void outputHistoryFields(PrintWriter out, String tokclass) {
+		
+		out.println("  private " + tokclass + "[] tokenHistory = new " + tokclass + "[32]; // the last tokens read, token n being at n & (length-1)");
+		out.println("  private long tokenCount; // number of tokens read from the input");
+		out.println("  private long tokenIndex; // number of the next token returned, behind tokenCount when tokens are pushed back");
+		out.println("  private int tokenHistorySize = 20; // number of tokens that can be pushed back");
+		out.println("  private int marks; // number of marks not yet rewound to or released");
+		out.println("  private long firstMark; // the oldest of those marks, all tokens from it are kept");
+		out.println();
+		
+	}
+	
+	/**
+	 * Token history functions, nextToken() reading through the history before reading new tokens
+	 * with _nextToken(), shared by all the tokenizer classes.
+	 * 
+	 * Marks are expected to be used in a nested fashion, each mark() being matched by a rewind()
+	 * to it or a release() of it.
+	 */
+	static void outputHistoryFunctions(PrintWriter out, String prefix, String tokclass) {
+		
+		out.println("  public void setTokenHistorySize(int size) {");
+		out.println("    tokenHistorySize = size;");
+		out.println("    while (tokenHistory.length < size) growHistory();");
 		out.println("  }");
+		out.println("  public int getTokenHistorySize() { return tokenHistorySize; }");
 		out.println();
 		
-		out.println("  private int getChar() throws " + prefix + "TokenizerException {");
-		out.println("    int c; int startLine = getLineNumber();");
-		out.println("    if (!pushedChars.isEmpty()) {");
-		out.println("      c = pushedChars.pop();");
-		out.println("      if (c == 10 || (c == 13 && pushedChars.peek() != 10)) input.setLineNumber(input.getLineNumber()+1);");
+		out.println("  public " + tokclass + " nextToken() throws " + prefix + "TokenizerException {");
+		out.println("    if (tokenIndex < tokenCount) {");
+		out.println("      return tokenHistory[(int)(tokenIndex++) & (tokenHistory.length - 1)];");
+		out.println("    }");
+		out.println("    " + tokclass + " token = _nextToken();");
+		out.println("    if (marks > 0 && tokenCount - firstMark == tokenHistory.length) growHistory();");
+		out.println("    tokenHistory[(int)(tokenCount++) & (tokenHistory.length - 1)] = token;");
+		out.println("    tokenIndex = tokenCount;");
+		out.println("    return token;");
+		out.println("  } // end nextToken");
+		out.println();
+		
+		out.println("  public void pushToken() throws " + prefix + "TokenizerException {");
+		out.println("    if (tokenIndex > 0 && tokenCount - tokenIndex < tokenHistorySize) {");
+		out.println("      tokenIndex--;");
 		out.println("    } else {");
-		out.println("      try {");
-		out.println("        c = input.read();");
-		out.println("      }");
-		out.println("      catch (IOException ex) {");
-		out.println("        throw new " + prefix + "TokenizerException(ex);");
+		out.println("      throw new " + prefix + "TokenizerException(\"Token push limit (\" + tokenHistorySize + \") exceeded.\");");
+		out.println("    }");
+		out.println("  } // end pushToken");
+		out.println();
+		
+		out.println("  // returns the position of the next token, tokens are kept from there on until the mark is rewound to or released");
+		out.println("  public long mark() {");
+		out.println("    if (marks++ == 0) firstMark = tokenIndex;");
+		out.println("    return tokenIndex;");
+		out.println("  } // end mark");
+		out.println();
+		
+		out.println("  // go back to the marked position, the next token will be the one that followed mark()");
+		out.println("  public void rewind(long mark) throws " + prefix + "TokenizerException {");
+		out.println("    if (mark > tokenCount || mark < tokenCount - tokenHistory.length || mark < 0) {");
+		out.println("      throw new " + prefix + "TokenizerException(\"Invalid mark \" + mark + \", it has been released or was never returned by mark().\");");
+		out.println("    }");
+		out.println("    tokenIndex = mark;");
+		out.println("    release(mark);");
+		out.println("  } // end rewind");
+		out.println();
+		
+		out.println("  // stop keeping tokens for the mark, without going back to it");
+		out.println("  public void release(long mark) {");
+		out.println("    if (marks > 0) marks--;");
+		out.println("  } // end release");
+		out.println();
+		
+		out.println("  private void growHistory() {");
+		out.println("    " + tokclass + "[] grown = new " + tokclass + "[tokenHistory.length * 2];");
+		out.println("    for (long n = Math.max(0, tokenCount - tokenHistory.length); n < tokenCount; n++) {");
+		out.println("      grown[(int)n & (grown.length - 1)] = tokenHistory[(int)n & (tokenHistory.length - 1)];");
+		out.println("    }");
+		out.println("    tokenHistory = grown;");
+		out.println("  } // end growHistory");
+		out.println();
+		
+	}
+	
+	/**
+	 * Bulk fill function, lexing tokens straight into a TokenBuffer without creating Token objects,
+	 * shared by all the tokenizer classes. The expressions passed give the accepted token type of
+	 * curState, the token's offsets, its column, its symbol ID and its value (only needed for errors).
+	 * 
+	 * An error after some tokens have been read only ends the fill, and is thrown by the next one.
+	 * Also output tokenTypes(), the stream of token types read through fill().
+	 */
+	static void outputBulkFillFunction(PrintWriter out, String prefix, String accepts, String keyword, String start, String end, String column, String symbol, String value) {
+		
+		out.println("  public int fill(" + prefix + "TokenBuffer tokens) throws " + prefix + "TokenizerException {");
+		out.println("    if (tokenIndex < tokenCount) {");
+		out.println("      throw new " + prefix + "TokenizerException(\"Tokens pushed back have to be read with nextToken() first.\");");
+		out.println("    }");
+		out.println("    int n = 0, capacity = tokens.capacity();");
+		out.println("    while (n < capacity) {");
+		out.println("      tokenStart = pos;");
+		out.println("      int curState = scan();");
+		out.println();
+		out.println("      if (curState == NO_STATE) {");
+		out.println("        if (pos == tokenStart) break;");
+		out.println("        if (n > 0) {");
+		out.println("          pos = tokenStart;");
+		out.println("          break;");
+		out.println("        }");
+		out.println("        countLines(tokenStart);");
+		out.println("        throw new " + prefix + "NoSuchTokenException(" + value + ", line, " + column + ");");
 		out.println("      }");
+		out.println();
+		out.println("      int type = " + accepts + ";");
+		out.println("      if (type == SKIP) continue;");
+		if (keyword != null) {
+			out.println("      " + keyword);
+		}
+		out.println();
+		out.println("      countLines(tokenStart);");
+		out.println("      tokens.type[n] = type;");
+		out.println("      tokens.start[n] = " + start + ";");
+		out.println("      tokens.end[n] = " + end + ";");
+		out.println("      tokens.line[n] = line;");
+		out.println("      tokens.column[n] = " + column + ";");
+		out.println("      tokens.symbol[n] = " + symbol + ";");
+		out.println("      n++;");
 		out.println("    }");
-		out.println("    if (getLineNumber() > startLine) { currentColumn = 1; } else { currentColumn++; }");
-		out.println("    return c;");
-		out.println("  } //end getChar");
+		out.println("    tokens.size = n;");
+		out.println("    return n;");
+		out.println("  } // end fill");
 		out.println();
-
-		out.println("  private " + tokclass + " createToken(String name, String value, int lineNumber, int column) {");
-		for(TokenDFA tdfa : tokendef.getAllTokenDFA()) {
-			if (tdfa.isInternal() || tdfa.name.equals("skip")) continue;
+		
+		out.println("  // the types of the tokens up to eof, read in bulk through fill() without creating Token objects");
+		out.println("  public IntStream tokenTypes() {");
+		out.println("    return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, Spliterator.ORDERED) {");
+		out.println("      private final " + prefix + "TokenBuffer tokens = new " + prefix + "TokenBuffer(1024);");
+		out.println("      private int next;");
+		out.println("      public boolean tryAdvance(IntConsumer action) {");
+		out.println("        if (next == tokens.size) {");
+		out.println("          try {");
+		out.println("            if (fill(tokens) == 0) return false;");
+		out.println("          }");
+		out.println("          catch (" + prefix + "TokenizerException ex) {");
+		out.println("            throw new " + prefix + "UncheckedTokenizerException(ex);");
+		out.println("          }");
+		out.println("          next = 0;");
+		out.println("        }");
+		out.println("        action.accept(tokens.type[next++]);");
+		out.println("        return true;");
+		out.println("      }");
+		out.println("    }, false);");
+		out.println("  } // end tokenTypes");
+		out.println();
+		
+	}
+	
+	/**
+	 * Returns the condition on "type" for the token to be interned
+	 */
+	private String internedCondition() {
+		String condition = "";
+		
+		for (String name : internedTokens) {
+			condition += (condition.isEmpty() ? "" : " || ") + "type == " + name.toUpperCase() + "_TOKEN";
+		}
+		
+		return condition;
+	}
+	
+	/**
+	 * Output the perfect hash table of the keywords, package-private so companion
+	 * tokenizers share it
+	 */
+	private void outputKeywordTables(PrintWriter out, TokenizerKeywords keywords) {
+		
+		String slots = "", types = "", bases = "";
+		
+		for (int slot = 0; slot < keywords.getNumSlots(); slot++) {
+			String keyword = keywords.getKeyword(slot);
 			
-			out.println("    if ( name.equals(\"" + tdfa.name + "\") ) return new " + tokclass + "(" + tdfa.name.toUpperCase() + "_TOKEN, name, value, lineNumber, column);");
+			slots += (slot > 0 ? ", " : "") + (keyword == null ? "null" : "\"" + escape(keyword) + "\"");
+			types += (slot > 0 ? ", " : "") + keywords.getType(slot);
+			bases += (slot > 0 ? ", " : "") + keywords.getBaseType(slot);
 		}
-		out.println("    if ( name.equals(\"eof\") ) return new " + tokclass + "(EOF_TOKEN, name, value, lineNumber, column);");
-		out.println("    throw new RuntimeException(\"Cannot create token, unknown token name: \" + name);");
-		out.println("  }");
+		
+		out.println("  // keywords, reclassified from their base token through a perfect hash of the value");
+		out.println("  static final int KEYWORD_SEED = " + keywords.getSeed() + ";");
+		out.println("  static final int KEYWORD_SHIFT = " + keywords.getShift() + ";");
+		out.println("  static final int KEYWORD_MIN = " + keywords.getMinLength() + ", KEYWORD_MAX = " + keywords.getMaxLength() + "; // lengths of the keywords");
+		out.println("  static final String[] keywords = { " + slots + " };");
+		out.println("  static final int[] keywordTypes = { " + types + " };");
+		out.println("  static final int[] keywordBases = { " + bases + " };");
 		out.println();
 		
-		out.println("  private void buildDFA() {");
-		for (TokenizerDFAState s : tokendef.getMasterTokenDFA().DFA) {
-			
-			if (s.isAccepting()) {
-				accepting.put(s.id, s.getOwners().get(0).name);
+	}
+	
+	/**
+	 * Output the keyword function, which returns the type of the keyword the value of a base token is,
+	 * or the base type if it isn't one. The text type and the expression of a unit of text (where %s is
+	 * the index) depend on the tokenizer's buffer, owner is the class holding the keyword tables.
+	 */
+	static void outputKeywordFunction(PrintWriter out, String owner, String text, String unit) {
+		
+		out.println("  private static int keyword(int type, " + text + " text, int start, int length) {");
+		out.println("    if (length < " + owner + "KEYWORD_MIN || length > " + owner + "KEYWORD_MAX) return type;");
+		out.println("    int h = " + owner + "KEYWORD_SEED;");
+		out.println("    for (int i = start; i < start + length; i++) h = (h ^ " + String.format(unit, "i") + ") * " + TokenizerKeywords.PRIME + ";");
+		out.println("    int slot = h >>> " + owner + "KEYWORD_SHIFT;");
+		out.println("    String keyword = " + owner + "keywords[slot];");
+		out.println("    if (keyword == null || " + owner + "keywordBases[slot] != type || keyword.length() != length) return type;");
+		out.println("    for (int i = 0; i < length; i++) {");
+		out.println("      if (keyword.charAt(i) != " + String.format(unit, "start + i") + ") return type;");
+		out.println("    }");
+		out.println("    return " + owner + "keywordTypes[slot];");
+		out.println("  } // end keyword");
+		out.println();
+		
+	}
+	
+	/**
+	 * Returns the condition on "type" for the value to be looked up as a keyword, owner
+	 * being the class holding the token constants
+	 */
+	static String keywordCondition(TokenizerKeywords keywords, String owner) {
+		String condition = "";
+		
+		for (TokenDFA base : keywords.getBases()) {
+			condition += (condition.isEmpty() ? "" : " || ") + "type == " + owner + base.name.toUpperCase() + "_TOKEN";
+		}
+		
+		return condition;
+	}
+	
+	/**
+	 * Tokenizer's step function, a single transition of the DFA on any character.
+	 * 
+	 * It isn't used by the tokenizer itself, whose scan function is coded for speed, but lets
+	 * companion tokenizers (such as the MappedTokenizer) run the DFA without a copy of its own.
+	 */
+	private void outputStepFunction(PrintWriter out, TokenizerTables tables) {
+		
+		out.println("  static int step(int state, int c) {");
+		
+		if (mode == SWITCH_MODE) {
+			out.println("    switch (state) {");
+			for (int s = 0; s < tables.getNumStates(); s++) {
+				if (tables.hasTransitions(s)) out.println("      case " + s + ": return state" + s + "(c);");
 			}
-			
-			out.println("    buildState" + s.id + "();");
-			
+			out.println("      default: return NO_STATE;");
+			out.println("    }");
 		}
-		out.println();
-		for (Integer accept : accepting.keySet()) {
-			out.printf("    accepting.put(%d, \"%s\");", accept, accepting.get(accept));
-			out.println();
+		else {
+			out.println("    return transitions[state * CLASSES + (c < ALPHABET ? charClasses[c] : 0)];");
 		}
-		out.println("  } // end buildDFA");
+		
+		out.println("  } // end step");
 		out.println();
 		
-		for (TokenizerDFAState s : tokendef.getMasterTokenDFA().DFA) {
-			
-			String tc = new String();
-			String st = new String();
+	}
+	
+	/**
+	 * Output a binary search over the runs from first to last (inclusive) returning the run's target
+	 */
+	private void outputRunSearch(PrintWriter out, ArrayList<Integer> starts, ArrayList<Integer> targets, int first, int last, String indent) {
+		
+		if (first == last) {
+			out.println(indent + "return " + targets.get(first) + ";");
+			return;
+		}
+		
+		int mid = (first + last + 1) / 2;
+		
+		out.println(indent + "if (c < " + charLiteral(starts.get(mid)) + ") {");
+		outputRunSearch(out, starts, targets, first, mid-1, indent + "  ");
+		out.println(indent + "} else {");
+		outputRunSearch(out, starts, targets, mid, last, indent + "  ");
+		out.println(indent + "}");
+		
+	}
+	
+	/**
+	 * Tokenizer's DFA tables, shared by all instances of the class.
+	 * 
+	 * Array initializers compile to code in the static initializer (several bytes per element), which
+	 * quickly runs into the method size limit, so the tables are packed into string literals instead
+	 * and unpacked when the class is loaded. See pack() for the format.
+	 */
+	private void outputTables(PrintWriter out, TokenizerTables tables) {
+		
+		int[] accepting = new int[tables.getNumStates()];
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			accepting[s] = tables.getAccepting(s);
+		}
+		
+		out.println("  private static final int[] accepting; // token type accepted by each state");
+		
+		if (mode == TABLE_MODE) {
+			int[] charClasses = new int[tables.getAlphabetSize()];
+			for (int c = 0; c < tables.getAlphabetSize(); c++) {
+				charClasses[c] = tables.getCharClass(c);
+			}
 			
-			for (Character c : s.getTransitionCharacters()) {
-				tc += (int)c + ",";
-				st += s.doTransition(c).getID() + ",";
+			int[] transitions = new int[tables.getNumStates() * tables.getNumClasses()];
+			for (int s = 0; s < tables.getNumStates(); s++) {
+				for (int c = 0; c < tables.getNumClasses(); c++) {
+					transitions[s * tables.getNumClasses() + c] = tables.getTransition(s, c);
+				}
 			}
 			
-			out.println("  private void buildState" + s.id + "() {");
-			out.println("    char[] tc = {" + tc + "};");
-			out.println("    int[]  st = {" + st + "};");
-			out.println("    Hashtable<Character, Integer> trans = new Hashtable<Character, Integer>();");
-			out.println("    for (int i = 0; i < tc.length; i++) trans.put(tc[i], st[i]);");
-			out.println("    DFA.put(" + s.id + ", trans);"); 
-			out.println("  } // end buildState" + s.id);
+			out.println("  private static final char[] charClasses; // equivalence class of each character, those outside of the alphabet are class 0");
+			out.println("  private static final int[] transitions; // next state, indexed by state * CLASSES + class");
 			out.println();
 			
+			outputPacked(out, "packedCharClasses", charClasses);
+			outputPacked(out, "packedTransitions", transitions);
+		}
+		else {
+			out.println();
+		}
+		
+		outputPacked(out, "packedAccepting", accepting);
+		
+		String loopStates = "";
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			if (tables.isSelfLooping(s)) loopStates += (loopStates.isEmpty() ? "" : ", ") + s;
 		}
 		
-		/*
-		out.println("  private void buildDFA() {");
-		out.println("    Hashtable<Character, Integer> trans;");
-		for (TokenizerDFAState s : tokendef.getMasterTokenDFA().DFA) {
+		out.println("  // states looping back to themselves on most characters, and those characters (by character, ALPHABET");
+		out.println("  // standing for all the characters outside of the alphabet), they are scanned in a tight loop");
+		out.println("  private static final int[] loopStates = { " + loopStates + " };");
+		out.println("  private static final boolean[][] loops = new boolean[STATES][];");
+		out.println();
+		
+		out.println("  static {");
+		out.println("    accepting = unpack(packedAccepting, STATES);");
+		if (mode == TABLE_MODE) {
+			out.println("    transitions = unpack(packedTransitions, STATES * CLASSES);");
+			out.println();
+			out.println("    int[] classes = unpack(packedCharClasses, ALPHABET);");
+			out.println("    charClasses = new char[ALPHABET];");
+			out.println("    for (int i = 0; i < ALPHABET; i++) charClasses[i] = (char)classes[i];");
+		}
+		out.println();
+		out.println("    for (int s : loopStates) {");
+		out.println("      loops[s] = new boolean[ALPHABET + 1];");
+		out.println("      for (int c = 0; c <= ALPHABET; c++) loops[s][c] = (step(s, c) == s);");
+		out.println("    }");
+		out.println("  } // end static tables");
+		out.println();
+		
+	}
+	
+	/**
+	 * Output the values packed into an array of string literals
+	 */
+	static void outputPacked(PrintWriter out, String name, int[] values) {
+		
+		out.println("  private static final String[] " + name + " = {");
+		
+		for (String chunk : pack(values)) {
+			out.println("    \"" + escape(chunk) + "\",");
+		}
+		
+		out.println("  };");
+		out.println();
+		
+	}
+	
+	/**
+	 * Tokenizer's unpack function, the reverse of pack()
+	 */
+	static void outputUnpackFunction(PrintWriter out) {
+		
+		out.println("  private static int[] unpack(String[] packed, int length) {");
+		out.println("    int[] values = new int[length];");
+		out.println("    int i = 0;");
+		out.println("    for (String chunk : packed) {");
+		out.println("      for (int j = 0; j < chunk.length(); j += 2) {");
+		out.println("        int value = chunk.charAt(j+1) - 1;");
+		out.println("        for (int n = chunk.charAt(j); n > 0; n--) values[i++] = value;");
+		out.println("      }");
+		out.println("    }");
+		out.println("    return values;");
+		out.println("  } // end unpack");
+		out.println();
+		
+	}
+	
+	/**
+	 * Pack values (from -1 to 65534) into strings as runs of equal values, each run being two
+	 * characters: its length and its value plus one.
+	 * 
+	 * Strings are cut well under the 65535 byte limit of a class file constant, at worst 3 bytes per character.
+	 */
+	private static ArrayList<String> pack(int[] values) {
+		
+		ArrayList<String> chunks = new ArrayList<String>();
+		StringBuilder chunk = new StringBuilder();
+		
+		int i = 0;
+		while (i < values.length) {
 			
-			if (s.isAccepting()) {
-				accepting.put(s.id, s.getOwners().start().name);
+			if (values[i] < -1 || values[i] > 65534) {
+				throw new RuntimeException("Value " + values[i] + " out of range for a packed table");
 			}
 			
-			out.println();
-			out.println("    // state " + s.id);
-			out.println("    trans = new Hashtable<Character, Integer>();");
-			out.println("    DFA.put(" + s.id + ", trans);"); 
+			int run = 1;
+			while (i + run < values.length && values[i + run] == values[i] && run < 65535) run++;
+			
+			chunk.append((char)run).append((char)(values[i] + 1));
 			
-			for (Character c : s.getTransitionCharacters()) {
-				out.printf("    trans.put((char)%d, %d);", (int)c, s.doTransition(c).getID());
-				out.println();
+			if (chunk.length() >= 20000) {
+				chunks.add(chunk.toString());
+				chunk = new StringBuilder();
 			}
 			
+			i += run;
 		}
-		out.println();
-		for (Integer accept : accepting.keySet()) {
-			out.printf("    accepting.put(%d, \"%s\");", accept, accepting.get(accept));
-			out.println();
-		}
-		out.println("  } //end buildDFA()");
-		out.println();
-		*/
 		
+		if (chunk.length() > 0 || chunks.isEmpty()) chunks.add(chunk.toString());
 		
+		return chunks;
+	}
+	
+	/**
+	 * Returns the string escaped for a Java string literal, using \\u escapes for anything not plainly printable
+	 */
+	private static String escape(String str) {
 		
-		out.println("} // end " + classname);
+		StringBuilder escaped = new StringBuilder();
+		
+		for (char c : str.toCharArray()) {
+			// careful, \\u escapes are translated before parsing, so they can't be used for line breaks, quotes or backslashes
+			if (c == '\n') escaped.append("\\n");
+			else if (c == '\r') escaped.append("\\r");
+			else if (c == '"') escaped.append("\\\"");
+			else if (c == '\\') escaped.append("\\\\");
+			else if (c >= 32 && c < 127) escaped.append(c);
+			else escaped.append(String.format("\\u%04x", (int)c));
+		}
+		
+		return escaped.toString();
+	}
+	
+	/**
+	 * Returns a Java literal for the character, quoted when it is plainly printable
+	 */
+	private static String charLiteral(int c) {
+		if (Character.isLetterOrDigit(c) && c < 128) return "'" + (char)c + "'";
 		
+		return String.valueOf(c);
 	}
 	
 }
@@ -1,5 +1,4 @@
 
-import java.util.Hashtable;
 import java.util.ArrayList;
 
 /**
@@ -10,9 +9,9 @@ import java.util.ArrayList;
 public class TokenizerDFAState extends TokenizerState {
 
 	/**
-	 * A map of transitions from this state on a character
+	 * The transitions from this state on ranges of characters, sorted and disjoint
 	 */
-	private Hashtable<Character, TokenizerDFAState> transitions = new Hashtable<Character, TokenizerDFAState>();
+	private ArrayList<TokenizerTransition<TokenizerDFAState>> transitions = new ArrayList<TokenizerTransition<TokenizerDFAState>>();
 	
 	/**
 	 * A DFA state is constructed from multiple NFA states when a conversion is done, this is where the NFA states are held.
@@ -38,72 +37,63 @@ public class TokenizerDFAState extends TokenizerState {
 	}
 	
 	/**
-	 * Add a transition on a character to a state
+	 * Add a transition on a range of characters, first to last inclusive, to a state. Ranges
+	 * are added in order, a range following one to the same state is joined to it
 	 */
-	public void addTransition(Character c, TokenizerDFAState next) { 
-		transitions.put(c, next);
-	}
-	
-	/**
-	 * Return the next state given a character, taking into
-	 * account possible wildcard or negative implications
-	 */
-	public TokenizerDFAState doTransition(char c) {
-		TokenizerDFAState trans = transitions.get(c);
+	public void addTransition(char first, char last, TokenizerDFAState next) {
+		int n = transitions.size();
+		
+		if (n > 0 && transitions.get(n-1).last >= first) {
+			throw new IllegalArgumentException("Transition ranges must be added in order");
+		}
 		
-		if (trans == null) {
-			// there were no transitions for c, let's try a wildcard
-			trans = transitions.get(TokenizerState.wildcard);
+		if (n > 0 && transitions.get(n-1).last == first - 1 && transitions.get(n-1).target == next) {
+			first = transitions.remove(n-1).first;
 		}
 		
-		return trans;
+		transitions.add(new TokenizerTransition<TokenizerDFAState>(first, last, next));
 	}
 	
-	/**
-	 * Returns whether or not we can make a transition on the given character,
-	 * including wildcard and negative transitions
-	 */
-	public boolean transitionExists(char c) {
-		return doTransition(c) != null;
+	public void removeAllTransitions() {
+		transitions.clear();
 	}
 	
 	/**
-	 * Get the transitions of the NFA states on the given character
+	 * Return the next state given a character, null if there is no transition on it
 	 */
-	public ArrayList<TokenizerNFAState> getNFATransitions(char c) {
-		ArrayList<TokenizerNFAState> trans = new ArrayList<TokenizerNFAState>();
+	public TokenizerDFAState doTransition(char c) {
+		int low = 0, high = transitions.size() - 1;
 		
-		for (TokenizerNFAState s : NFAStates) {
-			trans.addAll(s.getTransitions(c));
+		// binary search for the range holding c
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			
+			TokenizerTransition<TokenizerDFAState> trans = transitions.get(mid);
+			
+			if (c < trans.first) {
+				high = mid - 1;
+			} else if (c > trans.last) {
+				low = mid + 1;
+			} else {
+				return trans.target;
+			}
 		}
 		
-		return trans;
+		return null;
 	}
 	
 	/**
-	 * Get all the possible transition characters of the NFA states
+	 * Returns whether or not we can make a transition on the given character
 	 */
-	public ArrayList<Character> getNFATransitionCharacters() {		
-		ArrayList<Character> result = new ArrayList<Character>();
-		
-		if (NFAStates != null) {
-			
-			for (TokenizerNFAState s : NFAStates) {
-				for (Character c : s.getTransitionCharacters()) {
-					if ( !result.contains(c) ) result.add(c);
-				}
-			}
-			
-		}
-		
-		return result;
+	public boolean transitionExists(char c) {
+		return doTransition(c) != null;
 	}
 	
 	/**
-	 * Get all the possible transition characters of this state
+	 * Return the transitions on ranges of characters, in order
 	 */
-	public ArrayList<Character> getTransitionCharacters() {
-		return new ArrayList<Character>(transitions.keySet());
+	public ArrayList<TokenizerTransition<TokenizerDFAState>> getTransitions() {
+		return transitions;
 	}
 	
 	/**
@@ -119,16 +109,8 @@ public class TokenizerDFAState extends TokenizerState {
 		
 		str += id + (accepting?"!":"") + " ";
 		
-		TokenizerDFAState st;
-		
-		for (Character c : transitions.keySet()) {
-			st = transitions.get(c);
-			
-			if (c == TokenizerState.wildcard) {
-				str += "[[" + st.id + (st.accepting?"!":"") + "]] ";
-			} else {
-				str += "[" + Utils.escape(c) + " >> " + st.id + (st.accepting?"!":"") + "] ";
-			}
+		for (TokenizerTransition<TokenizerDFAState> trans : transitions) {
+			str += "[" + trans + " >> " + trans.target.id + (trans.target.accepting?"!":"") + "] ";
 		}
 		
 		return str;
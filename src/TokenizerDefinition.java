@@ -1,6 +1,7 @@
 import java.io.LineNumberReader;
 import java.io.Reader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Hashtable;
 
@@ -13,6 +14,14 @@ import java.util.Hashtable;
  * 
  * The first colon is optional and indicates that the token is internal.
  * Spaces and tabs are ignored.
+ * 
+ * A token may also be declared as a keyword of a base token (typically identifiers):
+ * 
+ * 		token_name(base_name) : token_regexp
+ * 
+ * Keywords are left out of the master DFA, the tokenizer matches their base token instead and
+ * reclassifies the values that are keywords. A keyword's regexp must match a finite set of
+ * strings, all of them matched by the base token.
  */
 public class TokenizerDefinition {
 
@@ -31,6 +40,7 @@ public class TokenizerDefinition {
 	 */
 	public TokenizerDefinition(Reader definitions) throws TokenizerDefinitionException, IOException {
 		createTokenDFAs(new LineNumberReader(definitions));
+		checkKeywords();
 		constructMasterDFA();
 	}
 	
@@ -43,6 +53,8 @@ public class TokenizerDefinition {
 		
 		boolean internal;
 		
+		String base;
+		
 		while( (line=definition.readLine()) != null ) {
 			
 			int lineNumber = definition.getLineNumber();
@@ -67,6 +79,15 @@ public class TokenizerDefinition {
 			
 			name = line.substring(0, line.indexOf(':')).trim();
 			
+			// a keyword names its base token in parentheses
+			base = null;
+			if (name.matches("\\w+\\s*\\(\\s*\\w+\\s*\\)")) {
+				base = name.substring(name.indexOf('(')+1, name.indexOf(')')).trim();
+				name = name.substring(0, name.indexOf('(')).trim();
+				
+				if (internal) throw new TokenizerDefinitionException("Internal token \"" + name + "\" cannot be a keyword", lineNumber);
+			}
+			
 			if (name.isEmpty()) throw new TokenizerDefinitionException("Token name not defined", lineNumber);
 			if (!name.matches("[a-zA-Z]\\w*")) throw new TokenizerDefinitionException("Invalid token name \"" + name + "\"", lineNumber);
 			
@@ -87,8 +108,13 @@ public class TokenizerDefinition {
 				throw new TokenizerDefinitionException(e.toString(), lineNumber);
 			}
 			
+			tok.keywordBase = base;
+			
 			// if the created TokenDFA's name already exists, add it to the existing one as an alternative
 			if (tokenDFAs.containsKey(name)) {
+				if (!String.valueOf(base).equals(String.valueOf(tokenDFAs.get(name).keywordBase))) {
+					throw new TokenizerDefinitionException("Token \"" + name + "\" is redefined with a different keyword base", lineNumber);
+				}
 				tokenDFAs.get(name).alternNFA(tok.NFA);
 			} else {
 				tokenDFAs.put(name, tok);
@@ -98,6 +124,44 @@ public class TokenizerDefinition {
 		
 	}
 	
+	/**
+	 * Make sure every keyword can be reclassified from its base token
+	 */
+	private void checkKeywords() throws TokenizerDefinitionException {
+		
+		Hashtable<String, String> keywords = new Hashtable<String, String>();
+		
+		for (TokenDFA dfa : tokenDFAs.values()) {
+			if (!dfa.isKeyword()) continue;
+			
+			TokenDFA base = tokenDFAs.get(dfa.getKeywordBase());
+			
+			if (base == null || base.isInternal() || base.isKeyword() || base.name.equals("skip")) {
+				throw new TokenizerDefinitionException("Keyword token \"" + dfa.name + "\" has an invalid base token \"" + dfa.getKeywordBase() + "\"");
+			}
+			
+			ArrayList<String> strings = dfa.getStrings();
+			
+			if (strings == null) {
+				throw new TokenizerDefinitionException("Keyword token \"" + dfa.name + "\" must match a finite set of strings");
+			}
+			
+			for (String str : strings) {
+				if (!str.matches("[\\x21-\\x7e]+")) {
+					throw new TokenizerDefinitionException("Keyword \"" + str + "\" of token \"" + dfa.name + "\" must be made of printable ASCII characters");
+				}
+				if (!base.matches(str)) {
+					throw new TokenizerDefinitionException("Keyword \"" + str + "\" of token \"" + dfa.name + "\" is not matched by its base token \"" + base.name + "\"");
+				}
+				if (keywords.containsKey(str)) {
+					throw new TokenizerDefinitionException("Keyword \"" + str + "\" is defined by both tokens \"" + keywords.get(str) + "\" and \"" + dfa.name + "\"");
+				}
+				keywords.put(str, dfa.name);
+			}
+		}
+		
+	}
+	
 	/**
 	 * Join all TokenDFAs as alternatives to the master DFA
 	 */
@@ -115,9 +179,9 @@ public class TokenizerDefinition {
 		NFA.add(start);
 		
 		// for each non-internal token DFA, take its NFA and add it
-		// as an alternative to the master NFA
+		// as an alternative to the master NFA, keywords are found through their base token
 		for (TokenDFA dfa : tokenDFAs.values()) {
-			if (dfa.isInternal()) continue;
+			if (dfa.isInternal() || dfa.isKeyword()) continue;
 			
 			// make a copy, don't want to mess with the original
 			StateGraph<TokenizerNFAState> copy = dfa.copyGraph(dfa.NFA);
@@ -134,6 +198,9 @@ public class TokenizerDefinition {
 		// create master DFA from master NFA (null name indicates master)
 		masterDFA = new TokenDFA(null, NFA);
 		
+		// merge its equivalent states, fewer states make for smaller tables
+		masterDFA.minimize();
+		
 	}
 	
 	/**
@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+
+/**
+ * Builds the perfect hash table through which the generated tokenizer reclassifies
+ * the values of base tokens (such as identifiers) as keywords.
+ *
+ * A value hashes to a single slot, the slot's keyword is then compared to the value,
+ * so recognizing a keyword (or its absence) costs one probe. The hash of a value is
+ *
+ * 		h = SEED; for each character c: h = (h ^ c) * 0x01000193
+ *
+ * and its slot is the top bits of h. Seeds are tried until every keyword has a slot of its own,
+ * in the smallest power of two table that allows it.
+ */
+public class TokenizerKeywords {
+
+	/**
+	 * Multiplier of the hash function
+	 */
+	public static final int PRIME = 0x01000193;
+
+	/**
+	 * Number of seeds tried for each table size
+	 */
+	private static final int SEEDS = 4096;
+
+	/**
+	 * The keyword tokens and their strings, in order
+	 */
+	private ArrayList<String> strings = new ArrayList<String>();
+	private ArrayList<TokenDFA> owners = new ArrayList<TokenDFA>();
+
+	/**
+	 * The base tokens that have keywords
+	 */
+	private ArrayList<TokenDFA> bases = new ArrayList<TokenDFA>();
+
+	/**
+	 * The keyword of each slot, null for empty slots
+	 */
+	private String[] slots;
+
+	/**
+	 * Token type and base token type of each slot's keyword
+	 */
+	private int[] types, baseTypes;
+
+	/**
+	 * Parameters of the hash function
+	 */
+	private int seed, shift;
+
+	/**
+	 * Shortest and longest keywords
+	 */
+	private int minLength = Integer.MAX_VALUE, maxLength = 0;
+
+	/**
+	 * Constructor. Gather the keywords of the tables' tokens and find their perfect hash.
+	 */
+	public TokenizerKeywords(TokenizerTables tables) {
+
+		for (TokenDFA tdfa : tables.getTokens()) {
+			if (!tdfa.isKeyword()) continue;
+
+			for (String str : tdfa.getStrings()) {
+				strings.add(str);
+				owners.add(tdfa);
+
+				if (str.length() < minLength) minLength = str.length();
+				if (str.length() > maxLength) maxLength = str.length();
+			}
+
+			for (TokenDFA base : tables.getTokens()) {
+				if (base.name.equals(tdfa.getKeywordBase()) && !bases.contains(base)) bases.add(base);
+			}
+		}
+
+		if (!strings.isEmpty()) buildTable(tables);
+	}
+
+	/**
+	 * Find a seed giving each keyword a slot of its own, and fill the slots
+	 */
+	private void buildTable(TokenizerTables tables) {
+
+		// at least two slots, a shift of 32 would be a shift of 0
+		int bits = 1;
+		while ((1 << bits) < strings.size()) bits++;
+
+		for (; bits < 32; bits++) {
+			for (int i = 1; i <= SEEDS; i++) {
+				seed = i * 0x9e3779b9;
+				shift = 32 - bits;
+
+				if (fill(tables)) return;
+			}
+		}
+
+		throw new IllegalStateException("No perfect hash found for the keywords");
+	}
+
+	/**
+	 * Put each keyword in its slot with the current seed, returns false on a collision
+	 */
+	private boolean fill(TokenizerTables tables) {
+
+		int size = 1 << (32 - shift);
+
+		slots = new String[size];
+		types = new int[size];
+		baseTypes = new int[size];
+
+		for (int i = 0; i < strings.size(); i++) {
+			int slot = hash(strings.get(i)) >>> shift;
+
+			if (slots[slot] != null) return false;
+
+			TokenDFA owner = owners.get(i);
+
+			slots[slot] = strings.get(i);
+			types[slot] = tables.getTokenType(owner);
+
+			for (TokenDFA base : bases) {
+				if (base.name.equals(owner.getKeywordBase())) baseTypes[slot] = tables.getTokenType(base);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the hash of the string, as computed by the generated tokenizer
+	 */
+	public int hash(String str) {
+		int h = seed;
+
+		for (int i = 0; i < str.length(); i++) {
+			h = (h ^ str.charAt(i)) * PRIME;
+		}
+
+		return h;
+	}
+
+	/**
+	 * Returns whether there are no keywords
+	 */
+	public boolean isEmpty() { return strings.isEmpty(); }
+
+	/**
+	 * A bunch of getters.
+	 */
+	public ArrayList<TokenDFA> getBases() { return bases; }
+
+	public int getNumSlots() { return slots.length; }
+
+	public String getKeyword(int slot) { return slots[slot]; }
+
+	public int getType(int slot) { return types[slot]; }
+
+	public int getBaseType(int slot) { return baseTypes[slot]; }
+
+	public int getSeed() { return seed; }
+
+	public int getShift() { return shift; }
+
+	public int getMinLength() { return minLength; }
+
+	public int getMaxLength() { return maxLength; }
+
+}
@@ -1,6 +1,4 @@
-import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.Set;
 import java.util.ArrayList;
 
 /**
@@ -11,9 +9,14 @@ import java.util.ArrayList;
 public class TokenizerNFAState extends TokenizerState {
 
 	/**
-	 * A map from characters to states (null key denotes an epsilon transition)
+	 * The transitions on ranges of characters, which may overlap
 	 */
-	private HashMap<Character, ArrayList<TokenizerNFAState>> transitions = new HashMap<Character, ArrayList<TokenizerNFAState>>();
+	private ArrayList<TokenizerTransition<TokenizerNFAState>> transitions = new ArrayList<TokenizerTransition<TokenizerNFAState>>();
+	
+	/**
+	 * The states attainable on an epsilon transition
+	 */
+	private ArrayList<TokenizerNFAState> epsilonTransitions = new ArrayList<TokenizerNFAState>();
 	
 	/**
 	 * Constructor.
@@ -21,54 +24,47 @@ public class TokenizerNFAState extends TokenizerState {
 	public TokenizerNFAState() { super(); }
 	
 	/**
-	 * Add a transition on a character to a state
+	 * Add a transition on a character to a state (null denotes an epsilon transition)
 	 */
 	public void addTransition(Character c, TokenizerNFAState next) { 
-		if (!transitions.containsKey(c)) {
-			transitions.put(c, new ArrayList<TokenizerNFAState>());
+		if (c == null) {
+			epsilonTransitions.add(next);
+		} else {
+			addTransition(c, c, next);
 		}
-		
-		transitions.get(c).add(next);
+	}
+	
+	/**
+	 * Add a transition on a range of characters, first to last inclusive, to a state
+	 */
+	public void addTransition(char first, char last, TokenizerNFAState next) {
+		transitions.add(new TokenizerTransition<TokenizerNFAState>(first, last, next));
 	}
 	
 	public void removeAllTransitions() {
 		transitions.clear();
+		epsilonTransitions.clear();
 	}
 	
 	/**
-	 * Return attainable states on the given character
+	 * Return the transitions on ranges of characters
 	 */
-	public ArrayList<TokenizerNFAState> getTransitions(Character c) {
-		ArrayList<TokenizerNFAState> trans = new ArrayList<TokenizerNFAState>(); 
-		
-		if (transitions.containsKey(c)) {
-			trans.addAll(transitions.get(c));
-		}
-		
-		// wildcard transitions may be taken if they exist 
-		if (transitions.containsKey(TokenizerState.wildcard)) {
-			trans.addAll(transitions.get(TokenizerState.wildcard));
-		}
-		
-		return trans;
+	public ArrayList<TokenizerTransition<TokenizerNFAState>> getTransitions() {
+		return transitions;
 	}
 	
 	/**
 	 * Get states attainable on an epsilon transition 
 	 */
 	public ArrayList<TokenizerNFAState> getEpsilonTransitions() {
-		if (transitions.containsKey(null)) {
-			return transitions.get(null);
-		} else {
-			return new ArrayList<TokenizerNFAState>();
-		}
+		return epsilonTransitions;
 	}
 	
 	/**
-	 * Returns all possible transition characters
+	 * Returns whether the state has a transition on any character
 	 */
-	public Set<Character> getTransitionCharacters() {
-		return transitions.keySet();
+	public boolean hasTransitions() {
+		return !transitions.isEmpty();
 	}
 	
 	/**
@@ -89,17 +85,25 @@ public class TokenizerNFAState extends TokenizerState {
 		
 
 		// copy transitions of original state to copy state
-		for (Character c : transitions.keySet()) {
-			for (TokenizerNFAState trans : transitions.get(c)) {
-				
-				if (!copyTable.containsKey(trans)) {
-					// the next state hasn't been copied, yet, so recurse
-					trans.copyGraph(newgraph, copyTable);
-				}
-				
-				newstate.addTransition(c, copyTable.get(trans));
-				
+		for (TokenizerTransition<TokenizerNFAState> trans : transitions) {
+			
+			if (!copyTable.containsKey(trans.target)) {
+				// the next state hasn't been copied, yet, so recurse
+				trans.target.copyGraph(newgraph, copyTable);
 			}
+			
+			newstate.addTransition(trans.first, trans.last, copyTable.get(trans.target));
+			
+		}
+		
+		for (TokenizerNFAState next : epsilonTransitions) {
+			
+			if (!copyTable.containsKey(next)) {
+				next.copyGraph(newgraph, copyTable);
+			}
+			
+			newstate.addTransition(null, copyTable.get(next));
+			
 		}
 		
 	}
@@ -112,14 +116,12 @@ public class TokenizerNFAState extends TokenizerState {
 		
 		str += id + (accepting?"!":"") + " ";
 		
-		for (Character c : transitions.keySet()) {
-			for (TokenizerNFAState st : transitions.get(c)) {
-				if (c != null && c == TokenizerState.wildcard) {
-					str += "[[" + st.id + (st.accepting?"!":"") + "]] ";
-				} else {
-					str += "[" + (c==null?" ":Utils.escape(c)) + " >> " + st.id + (st.accepting?"!":"") + "] ";
-				}
-			}
+		for (TokenizerTransition<TokenizerNFAState> trans : transitions) {
+			str += "[" + trans + " >> " + trans.target.id + (trans.target.accepting?"!":"") + "] ";
+		}
+		
+		for (TokenizerNFAState st : epsilonTransitions) {
+			str += "[  >> " + st.id + (st.accepting?"!":"") + "] ";
 		}
 		
 		return str;
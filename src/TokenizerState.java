@@ -12,11 +12,6 @@ public abstract class TokenizerState {
 	 */
 	protected static int nextID  = 0;
 	
-	/**
-	 * Special characters to be used in transitions
-	 */
-	public static final Character wildcard = 3;
-	
 	/**
 	 * The state's id
 	 */
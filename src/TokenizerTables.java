@@ -0,0 +1,257 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Hashtable;
+
+/**
+ * Flattens the master DFA of a token definition into dense integer tables,
+ * ready to be emitted by TokenizerClassCreator.
+ *
+ * States are numbered by their position in the master DFA (the start state is always 0).
+ * Characters that every state treats alike are grouped into equivalence classes, and transitions
+ * are stored in a single array indexed by state and class. Transitions on ranges of characters are
+ * resolved here, once, so the generated tokenizer never needs to search them.
+ * 
+ * Class 0 always holds the characters outside of the alphabet, those past the last bound of a
+ * transition's range (such as the characters only matched by wildcards and negated classes).
+ */
+public class TokenizerTables {
+
+	/**
+	 * Value of the accepting table for states that are not accepting
+	 */
+	public static final int NOT_ACCEPTING = -1;
+
+	/**
+	 * Token type used for the reserved "skip" token
+	 */
+	public static final int SKIP = 0;
+
+	/**
+	 * Value of the transition tables when there is no transition
+	 */
+	public static final int NO_STATE = -1;
+
+	/**
+	 * The reported tokens (neither internal nor skip), the token type is the index plus one
+	 */
+	private ArrayList<TokenDFA> tokens = new ArrayList<TokenDFA>();
+
+	/**
+	 * The master DFA's states, in order
+	 */
+	private ArrayList<TokenizerDFAState> states;
+
+	/**
+	 * Number of characters covered by the class map, characters above belong to class 0
+	 */
+	private int alphabetSize;
+
+	/**
+	 * Equivalence class of each character of the alphabet
+	 */
+	private int[] charClasses;
+
+	/**
+	 * Number of equivalence classes
+	 */
+	private int numClasses;
+
+	/**
+	 * Next state indexed by (state * numClasses + class)
+	 */
+	private int[] transitions;
+
+	/**
+	 * Token type accepted by each state, or NOT_ACCEPTING
+	 */
+	private int[] accepting;
+
+	/**
+	 * Constructor. Build the tables from the token definition's master DFA.
+	 */
+	public TokenizerTables(TokenizerDefinition tokendef) {
+
+		for (TokenDFA tdfa : tokendef.getAllTokenDFA()) {
+			if (tdfa.isInternal() || tdfa.name.equals("skip")) continue;
+			tokens.add(tdfa);
+		}
+
+		states = tokendef.getMasterTokenDFA().DFA;
+
+		buildTables();
+	}
+
+	/**
+	 * Fill the class, transition and accepting tables
+	 */
+	private void buildTables() {
+
+		int numStates = states.size();
+
+		// map each state to its index
+		Hashtable<TokenizerDFAState, Integer> index = new Hashtable<TokenizerDFAState, Integer>();
+		for (int i = 0; i < numStates; i++) {
+			index.put(states.get(i), i);
+		}
+
+		// the alphabet spans up to the last bound of a transition's range, every state
+		// goes the same way on all the characters from there on
+		alphabetSize = 0;
+		for (TokenizerDFAState s : states) {
+			for (TokenizerTransition<TokenizerDFAState> trans : s.getTransitions()) {
+				if (trans.first > alphabetSize) alphabetSize = trans.first;
+				if (trans.last < Character.MAX_VALUE && trans.last + 1 > alphabetSize) alphabetSize = trans.last + 1;
+			}
+		}
+
+		// resolve every state's target for each character of the alphabet, the last
+		// column stands for all characters outside the alphabet
+		int[][] targets = new int[numStates][alphabetSize + 1];
+
+		for (int i = 0; i < numStates; i++) {
+			TokenizerDFAState s = states.get(i);
+
+			for (int c = 0; c <= alphabetSize; c++) {
+				TokenizerDFAState next = s.doTransition((char)c);
+				targets[i][c] = (next == null ? NO_STATE : index.get(next));
+			}
+		}
+
+		buildClasses(targets);
+
+		transitions = new int[numStates * numClasses];
+		accepting = new int[numStates];
+
+		for (int i = 0; i < numStates; i++) {
+			for (int c = 0; c <= alphabetSize; c++) {
+				transitions[i * numClasses + (c < alphabetSize ? charClasses[c] : 0)] = targets[i][c];
+			}
+
+			TokenizerDFAState s = states.get(i);
+
+			if (s.isAccepting()) {
+				accepting[i] = getTokenType(s.getOwners().get(0));
+			} else {
+				accepting[i] = NOT_ACCEPTING;
+			}
+		}
+
+	}
+
+	/**
+	 * Partition the characters into equivalence classes, two characters being equivalent
+	 * when every state goes to the same target on both.
+	 * 
+	 * Starting from a single class, the partition is refined one state at a time.
+	 */
+	private void buildClasses(int[][] targets) {
+
+		int[] classOf = partition(Arrays.asList(targets), alphabetSize + 1);
+
+		// renumber by first appearance, starting with the characters outside of the alphabet as class 0
+		int[] renumber = new int[alphabetSize + 1];
+		Arrays.fill(renumber, -1);
+
+		renumber[classOf[alphabetSize]] = 0;
+		numClasses = 1;
+
+		charClasses = new int[alphabetSize];
+
+		for (int c = 0; c < alphabetSize; c++) {
+			if (renumber[classOf[c]] == -1) renumber[classOf[c]] = numClasses++;
+
+			charClasses[c] = renumber[classOf[c]];
+		}
+
+	}
+
+	/**
+	 * Returns the partition of the columns (0 to width-1) of the target rows, two columns being in
+	 * the same class when every row has the same target in both. Classes are numbered arbitrarily.
+	 */
+	static int[] partition(Iterable<int[]> targets, int width) {
+
+		int[] classOf = new int[width];
+
+		for (int[] row : targets) {
+			Hashtable<Long, Integer> split = new Hashtable<Long, Integer>();
+
+			for (int c = 0; c < width; c++) {
+				Long key = ((long)classOf[c] << 32) | (row[c] & 0xffffffffL);
+
+				if (!split.containsKey(key)) split.put(key, split.size());
+
+				classOf[c] = split.get(key);
+			}
+		}
+
+		return classOf;
+	}
+
+	/**
+	 * Returns the type of the given token
+	 */
+	public int getTokenType(TokenDFA tdfa) {
+		if (tdfa.name.equals("skip")) return SKIP;
+
+		return tokens.indexOf(tdfa) + 1;
+	}
+
+	/**
+	 * Returns the name of the given token type
+	 */
+	public String getTokenName(int type) {
+		if (type == SKIP) return "skip";
+
+		return tokens.get(type - 1).name;
+	}
+
+	/**
+	 * Returns whether the state has a transition on any character
+	 */
+	public boolean hasTransitions(int state) {
+		for (int c = 0; c < numClasses; c++) {
+			if (getTransition(state, c) != NO_STATE) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the state loops back to itself on most of the characters it has a transition on,
+	 * that is on all the characters outside of the alphabet, or on at least two characters and half of them
+	 */
+	public boolean isSelfLooping(int state) {
+		if (getTransition(state, 0) == state) return true;
+
+		int self = 0, total = 0;
+
+		for (int c = 0; c < alphabetSize; c++) {
+			int target = getTransition(state, charClasses[c]);
+
+			if (target == NO_STATE) continue;
+
+			total++;
+			if (target == state) self++;
+		}
+
+		return self >= 2 && self * 2 >= total;
+	}
+
+	/**
+	 * A bunch of getters.
+	 */
+	public ArrayList<TokenDFA> getTokens() { return tokens; }
+
+	public int getNumStates() { return states.size(); }
+
+	public int getAlphabetSize() { return alphabetSize; }
+
+	public int getNumClasses() { return numClasses; }
+
+	public int getCharClass(int c) { return c < alphabetSize ? charClasses[c] : 0; }
+
+	public int getTransition(int state, int charClass) { return transitions[state * numClasses + charClass]; }
+
+	public int getAccepting(int state) { return accepting[state]; }
+
+}
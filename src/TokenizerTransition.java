@@ -0,0 +1,29 @@
+
+/**
+ * A transition on a range of characters, from first to last inclusive, to a target
+ */
+public class TokenizerTransition<T> {
+	
+	public final char first, last;
+	
+	public final T target;
+	
+	/**
+	 * Constructor.
+	 */
+	public TokenizerTransition(char first, char last, T target) {
+		this.first = first;
+		this.last = last;
+		this.target = target;
+	}
+	
+	/**
+	 * String representation of the range
+	 */
+	public String toString() {
+		if (first == last) return Utils.escape(first);
+		
+		return Utils.escape(first) + "-" + Utils.escape(last);
+	}
+	
+}
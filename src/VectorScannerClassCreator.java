@@ -0,0 +1,149 @@
+import java.io.PrintWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Output the VectorScanner class, used by the Tokenizer to run through the characters a
+ * self-looping state loops on (see TokenizerTables.isSelfLooping) many characters at a time.
+ *
+ * It is written with the incubating Vector API, so it has to be compiled and run with
+ * "--add-modules jdk.incubator.vector". When the module is missing at run time, or the host has
+ * no useful vector size, the Tokenizer keeps to its scalar loops.
+ *
+ * Each state gets a function of its own, testing every character of a vector against the ranges
+ * of characters the state loops on. States looping on too many ranges are left to the scalar loop.
+ * Line breaks, which the Tokenizer counts behind the scan, are searched for the same way.
+ */
+public class VectorScannerClassCreator {
+	
+	/**
+	 * Most ranges of characters tested for a state
+	 */
+	public static final int MAX_RANGES = 4;
+	
+	/**
+	 * A prefix to prepend to all class names
+	 */
+	private String prefix = "";
+	
+	/**
+	 * The token definition we base the tokenizer on
+	 */
+	private TokenizerDefinition tokendef;
+	
+	/**
+	 * Constructor.
+	 */
+	public VectorScannerClassCreator (String prefix, TokenizerDefinition tokendef) {
+		this.prefix = prefix;
+		this.tokendef = tokendef;
+	}
+	
+	/**
+	 * Output the vector scanner class to the provided writer
+	 */
+	public void output(PrintWriter out) throws IOException {
+		String classname = prefix + "VectorScanner";
+		
+		TokenizerTables tables = new TokenizerTables(tokendef);
+		
+		out.println("import jdk.incubator.vector.*;");
+		out.println();
+		
+		out.println("class " + classname + " {");
+		out.println();
+		
+		out.println("  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;");
+		out.println("  private static final int LANES = SPECIES.length();");
+		out.println();
+		
+		out.println("  // only worth it with at least 8 characters at a time");
+		out.println("  static boolean isSupported() { return LANES >= 8; }");
+		out.println();
+		
+		out.println("  // returns the offset of the first character from p the state doesn't loop on, or where fewer");
+		out.println("  // than LANES characters are left before lim (the rest is left to the scalar loop)");
+		out.println("  static int run(int state, char[] b, int p, int lim) {");
+		out.println("    switch (state) {");
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			if (tables.isSelfLooping(s) && getLoopRanges(tables, s).size() <= MAX_RANGES) {
+				out.println("      case " + s + ": return run" + s + "(b, p, lim);");
+			}
+		}
+		out.println("      default: return p;");
+		out.println("    }");
+		out.println("  } // end run");
+		out.println();
+		
+		out.println("  // returns the offset of the first line break from p, or where fewer than LANES characters are left before lim");
+		out.println("  static int lineBreak(char[] b, int p, int lim) {");
+		out.println("    for (; p + LANES <= lim; p += LANES) {");
+		out.println("      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);");
+		out.println("      VectorMask<Short> breaks = v.compare(VectorOperators.EQ, (short)'\\n').or(v.compare(VectorOperators.EQ, (short)'\\r'));");
+		out.println("      if (breaks.anyTrue()) return p + breaks.firstTrue();");
+		out.println("    }");
+		out.println("    return p;");
+		out.println("  } // end lineBreak");
+		out.println();
+		
+		for (int s = 0; s < tables.getNumStates(); s++) {
+			if (!tables.isSelfLooping(s)) continue;
+			
+			ArrayList<int[]> ranges = getLoopRanges(tables, s);
+			
+			if (ranges.size() > MAX_RANGES) continue;
+			
+			// a character is in [first, last] when c - first < last - first + 1, unsigned
+			String in = "";
+			for (int[] range : ranges) {
+				String test = "v.sub((short)" + range[0] + ").compare(VectorOperators.UNSIGNED_LT, (short)" + (range[1] - range[0] + 1) + ")";
+				
+				if (range[1] - range[0] == Character.MAX_VALUE) test = "SPECIES.maskAll(true)";
+				
+				in = (in.isEmpty() ? test : in + ".or(" + test + ")");
+			}
+			
+			out.println("  static int run" + s + "(char[] b, int p, int lim) {");
+			out.println("    for (; p + LANES <= lim; p += LANES) {");
+			out.println("      ShortVector v = ShortVector.fromCharArray(SPECIES, b, p);");
+			out.println("      VectorMask<Short> in = " + in + ";");
+			out.println("      if (!in.allTrue()) return p + in.not().firstTrue();");
+			out.println("    }");
+			out.println("    return p;");
+			out.println("  } // end run" + s);
+			out.println();
+		}
+		
+		out.println("} // end " + classname);
+		
+	}
+	
+	/**
+	 * Returns the ranges of characters (first and last, inclusive) the state loops on
+	 */
+	private static ArrayList<int[]> getLoopRanges(TokenizerTables tables, int state) {
+		
+		ArrayList<int[]> ranges = new ArrayList<int[]>();
+		
+		int[] range = null;
+		
+		for (int c = 0; c <= tables.getAlphabetSize(); c++) {
+			// the last one stands for all the characters outside of the alphabet
+			int last = (c < tables.getAlphabetSize() ? c : Character.MAX_VALUE);
+			
+			if (tables.getTransition(state, tables.getCharClass(c)) != state) {
+				range = null;
+			}
+			else if (range == null) {
+				range = new int[] { c, last };
+				ranges.add(range);
+			}
+			else {
+				range[1] = last;
+			}
+		}
+		
+		return ranges;
+	}
+	
+}